@@ -21,8 +21,13 @@ NOTIFICATION_SERVICE_URL = os.getenv("NOTIFICATION_SERVICE_URL", "http://notific
 QUIZ_SERVICE_URL = os.getenv("QUIZ_SERVICE_URL", "http://quiz-service:8083")
 
 # JWT
-JWT_SECRET = os.getenv("JWT_SECRET", "secret")
+# RS256 tokens are verified with the Auth Service public keys. Legacy HS512 tokens are only accepted
+# during the cutover window, with JWT_ACCEPT_LEGACY_HS512=true and JWT_SECRET set
+JWT_SECRET = os.getenv("JWT_SECRET", "")
+JWT_ACCEPT_LEGACY_HS512 = os.getenv("JWT_ACCEPT_LEGACY_HS512", "false").lower() == "true" and bool(JWT_SECRET)
 JWT_ALGORITHM = "HS256"
+JWKS_URL = os.getenv("JWKS_URL", f"{AUTH_SERVICE_URL}/.well-known/jwks.json")
+JWKS_CACHE_SECONDS = int(os.getenv("JWKS_CACHE_SECONDS", 600))
 
 # CORS
 CORS_ORIGINS = os.getenv("CORS_ORIGINS", "http://localhost:3000,http://localhost").split(",")
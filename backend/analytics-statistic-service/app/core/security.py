@@ -1,20 +1,65 @@
+import logging
+import threading
+import time
+
+import requests
 from fastapi import Depends, HTTPException, status
 from fastapi.security import HTTPBearer, HTTPAuthorizationCredentials
 from jose import jwt, JWTError
 from app.core import config
 
+logger = logging.getLogger(__name__)
+
 security = HTTPBearer(auto_error=True)
 
+_jwks_lock = threading.Lock()
+_jwks = {"keys": []}
+_jwks_fetched_at = 0.0
+
+
+def _get_jwks(force=False):
+    """Auth Service public keys, cached; refetched when stale or when a token has an unknown kid"""
+    global _jwks, _jwks_fetched_at
+    with _jwks_lock:
+        now = time.time()
+        stale = now - _jwks_fetched_at > config.JWKS_CACHE_SECONDS
+        # At most one forced refetch every 30s so bogus kids cannot hammer the Auth Service
+        if stale or (force and now - _jwks_fetched_at > 30):
+            try:
+                response = requests.get(config.JWKS_URL, timeout=3)
+                response.raise_for_status()
+                _jwks = response.json()
+                _jwks_fetched_at = now
+            except Exception as e:
+                logger.error(f"Failed to fetch JWKS: {e}")
+        return _jwks
+
+
+def _verification_key(token):
+    header = jwt.get_unverified_header(token)
+    if header.get("alg", "").startswith("HS"):
+        if not config.JWT_ACCEPT_LEGACY_HS512:
+            raise JWTError("HS tokens are not accepted")
+        return config.JWT_SECRET, ["HS512"]
+
+    kid = header.get("kid")
+    for force in (False, True):
+        for key in _get_jwks(force).get("keys", []):
+            if key.get("kid") == kid:
+                return key, ["RS256"]
+    raise JWTError("Unknown signing key")
+
 
 def verify_token(credentials=Depends(security)):
     token = credentials.credentials
     print("RAW TOKEN:", token)
 
     try:
+        key, algorithms = _verification_key(token)
         payload = jwt.decode(
             token,
-            config.JWT_SECRET,
-            algorithms=["HS512"],
+            key,
+            algorithms=algorithms,
             options={"verify_aud": False}
         )
         print("JWT PAYLOAD:", payload)
@@ -19,6 +19,8 @@ CREATE TABLE classes (
     status VARCHAR(20) DEFAULT 'ACTIVE',
     teacher_id BIGINT NOT NULL, -- No FK, validated via Auth Service API
     invitation_code VARCHAR(20) UNIQUE,
+    member_count INTEGER NOT NULL DEFAULT 0, -- maintained on member writes, reconciled hourly
+    assignment_count INTEGER NOT NULL DEFAULT 0, -- maintained on assignment writes, reconciled hourly
     created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW()
 );
@@ -55,10 +57,54 @@ CREATE TABLE student_progress (
     student_id BIGINT NOT NULL, -- No FK, validated via Auth Service API
     status VARCHAR(20) DEFAULT 'NOT_STARTED',
     score INT DEFAULT 0,
+    attempt_id BIGINT, -- Quiz attempt from Quiz Service
     last_updated TIMESTAMP DEFAULT NOW(),
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW(),
     UNIQUE (assignment_id, student_id)
 );
 
+-- Running score statistics per assignment (maintained on every score sync)
+CREATE TABLE assignment_stats (
+    id BIGSERIAL PRIMARY KEY,
+    assignment_id BIGINT NOT NULL UNIQUE REFERENCES assignments(id) ON DELETE CASCADE,
+    submission_count BIGINT NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    score_sum_squares BIGINT NOT NULL DEFAULT 0,
+    min_score INT,
+    max_score INT,
+    histogram INT[] NOT NULL DEFAULT '{0,0,0,0,0,0,0,0,0,0}', -- 10-point buckets, last bucket is 90+
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW()
+);
+
+-- Transactional outbox: messages written with the business change, published by the relay
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL UNIQUE,
+    exchange VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    published_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW()
+);
+
+-- Deadline reminders sent (or leased) per assignment, offset and due time
+CREATE TABLE reminder_dispatches (
+    id BIGSERIAL PRIMARY KEY,
+    assignment_id BIGINT NOT NULL,
+    offset_minutes INT NOT NULL,
+    due_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL, -- CLAIMED, SENT
+    owner VARCHAR(255) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    recipient_count INT,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW(),
+    CONSTRAINT uk_reminder_dispatches UNIQUE (assignment_id, offset_minutes, due_time)
+);
+
 -- ============================================================
 -- INDEXES
 -- ============================================================
@@ -72,9 +118,12 @@ CREATE INDEX idx_class_members_role ON class_members(role);
 CREATE INDEX idx_assignments_class_id ON assignments(class_id);
 CREATE INDEX idx_assignments_quiz_id ON assignments(quiz_id);
 CREATE INDEX idx_assignments_due_time ON assignments(due_time);
+CREATE INDEX idx_assignments_class_due ON assignments(class_id, due_time);
 CREATE INDEX idx_student_progress_assignment_id ON student_progress(assignment_id);
 CREATE INDEX idx_student_progress_student_id ON student_progress(student_id);
 CREATE INDEX idx_student_progress_status ON student_progress(status);
+CREATE INDEX idx_student_progress_attempt_id ON student_progress(attempt_id);
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at);
 
 -- ============================================================
 -- SAMPLE DATA
@@ -114,3 +163,17 @@ INSERT INTO student_progress (assignment_id, student_id, status, score) VALUES
 (2, 5, 'NOT_STARTED', 0),
 (3, 4, 'COMPLETED', 75),
 (3, 6, 'NOT_STARTED', 0);
+
+-- Counters for the sample rows above
+UPDATE classes c SET
+    member_count = (SELECT COUNT(*) FROM class_members m WHERE m.class_id = c.id),
+    assignment_count = (SELECT COUNT(*) FROM assignments a WHERE a.class_id = c.id);
+
+-- Pooled id allocation (BaseEntity uses 50-id blocks from each {table}_id_seq); after the sample rows so their ids stay 1, 2, 3...
+ALTER SEQUENCE classes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE class_members_id_seq INCREMENT BY 50;
+ALTER SEQUENCE assignments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE student_progress_id_seq INCREMENT BY 50;
+ALTER SEQUENCE assignment_stats_id_seq INCREMENT BY 50;
+ALTER SEQUENCE outbox_events_id_seq INCREMENT BY 50;
+ALTER SEQUENCE reminder_dispatches_id_seq INCREMENT BY 50;
@@ -0,0 +1,54 @@
+-- ============================================================
+-- Pooled id sequences for JDBC batch inserts
+-- Run once on databases created before ids moved from IDENTITY to pooled sequences
+-- (BaseEntity: GenerationType.SEQUENCE, allocation size 50). Safe to re-run.
+-- Hibernate reads ids from {table}_id_seq (TableSequenceNamingStrategy), so a sequence under
+-- any other name is renamed first. The service refuses to start while a sequence increment
+-- differs from the allocation size.
+-- ============================================================
+
+DO $$
+DECLARE
+    t TEXT;
+    seq TEXT;
+    expected TEXT;
+    id_kind "char";
+BEGIN
+    FOREACH t IN ARRAY ARRAY['classes', 'class_members', 'assignments', 'student_progress',
+                             'assignment_stats', 'outbox_events', 'reminder_dispatches']
+    LOOP
+        IF to_regclass(t) IS NULL THEN
+            CONTINUE; -- created later by Hibernate together with its sequence
+        END IF;
+
+        seq := pg_get_serial_sequence(t, 'id');
+        IF seq IS NULL THEN
+            RAISE EXCEPTION 'Table % has no id sequence', t;
+        END IF;
+
+        -- e.g. a table renamed after creation keeps its old sequence name
+        expected := t || '_id_seq';
+        IF seq::regclass IS DISTINCT FROM to_regclass(quote_ident(expected)) THEN
+            IF to_regclass(quote_ident(expected)) IS NOT NULL THEN
+                RAISE EXCEPTION 'Cannot rename % to %: a relation with that name already exists', seq, expected;
+            END IF;
+            EXECUTE format('ALTER SEQUENCE %s RENAME TO %I', seq, expected);
+            RAISE NOTICE 'Renamed sequence % to %', seq, expected;
+            seq := pg_get_serial_sequence(t, 'id');
+        END IF;
+
+        SELECT attidentity INTO id_kind FROM pg_attribute
+        WHERE attrelid = t::regclass AND attname = 'id';
+
+        -- Tables created by Hibernate with IDENTITY own an identity sequence, which is altered through the column.
+        -- GENERATED ALWAYS would reject the ids Hibernate now assigns, so it becomes BY DEFAULT.
+        IF id_kind = 'a' THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET GENERATED BY DEFAULT', t);
+        END IF;
+        IF id_kind IN ('a', 'd') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', t);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+        END IF;
+    END LOOP;
+END $$;
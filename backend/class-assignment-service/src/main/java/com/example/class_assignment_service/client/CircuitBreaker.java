@@ -0,0 +1,79 @@
+package com.example.class_assignment_service.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker for one downstream service.
+ * CLOSED lets every call through; after failureThreshold failures in a row it turns OPEN and
+ * rejects calls for openDuration, then HALF_OPEN lets a single trial call decide whether to close again.
+ */
+public class CircuitBreaker {
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+    
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * @return true if a call may proceed; every permitted call must end in onSuccess, onFailure or onCancel
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+    
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+    
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            consecutiveFailures = 0;
+        }
+    }
+    
+    /**
+     * A permitted call was abandoned without an outcome; frees the half-open trial slot
+     */
+    public synchronized void onCancel() {
+        trialInFlight = false;
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+}
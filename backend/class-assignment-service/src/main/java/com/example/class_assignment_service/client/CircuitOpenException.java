@@ -0,0 +1,11 @@
+package com.example.class_assignment_service.client;
+
+/**
+ * Raised without calling the downstream service while its circuit breaker is open
+ */
+public class CircuitOpenException extends RuntimeException {
+    
+    public CircuitOpenException(String target) {
+        super("Circuit breaker open for " + target);
+    }
+}
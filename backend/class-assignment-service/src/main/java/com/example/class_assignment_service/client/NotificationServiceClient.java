@@ -1,16 +1,14 @@
 package com.example.class_assignment_service.client;
 
-import com.example.class_assignment_service.exception.AppException;
-import com.example.class_assignment_service.exception.ErrorCode;
+import com.example.class_assignment_service.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -18,35 +16,54 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class NotificationServiceClient {
     
-    private final WebClient.Builder webClientBuilder;
+    private static final String TARGET = "notification-service";
     
-    @Value("${services.notification-service.url:http://localhost:8083}")
-    private String notificationServiceUrl;
-    
-    private WebClient getWebClient() {
-        return webClientBuilder
-            .baseUrl(notificationServiceUrl)
-            .build();
-    }
+    private final OutboundClients outboundClients;
+    private final OutboxService outboxService;
+    private final MeterRegistry meterRegistry;
     
+    /**
+     * Fire-and-forget: the request runs on the Netty event loop, so a slow notification-service
+     * never holds a request thread. Queued sends are bounded by the connection pool; a send that
+     * never reached the service (pool queue full, circuit open) is queued in the outbox instead.
+     * Other failures may have been processed, so they are counted and logged rather than resent.
+     */
     public void sendNotification(NotificationRequest request) {
-        try {
-            getWebClient()
+        outboundClients.get(TARGET)
+            .call("sendNotification", false, webClient -> webClient
                 .post()
                 .uri("/notifications")
                 .bodyValue(request)
                 .retrieve()
-                .onStatus(status -> status.is5xxServerError(), response -> {
-                    log.error("Notification Service error");
-                    return Mono.error(new AppException(ErrorCode.NOTIFICATION_SERVICE_ERROR));
-                })
-                .bodyToMono(Void.class)
-                .timeout(Duration.ofSeconds(5))
-                .block();
-        } catch (Exception e) {
-            log.error("Error calling Notification Service: {}", e.getMessage(), e);
-            // Don't throw exception, just log - notification failure shouldn't break main flow
-        }
+                .bodyToMono(Void.class))
+            .onErrorResume(OutboundClient::isNotSent, e -> queueInOutbox(request, e))
+            // Don't propagate - notification failure shouldn't break main flow
+            .subscribe(null, e -> {
+                countUndelivered(request, "dropped");
+                log.error("Error calling Notification Service ({}), notification dropped: {}", request.getType(), e.getMessage());
+            });
+    }
+    
+    // The outbox write is blocking JDBC, so it runs off the event loop
+    private Mono<Void> queueInOutbox(NotificationRequest request, Throwable cause) {
+        return Mono.<Void>fromRunnable(() -> {
+                Map<String, Object> data = new HashMap<>(request.getData() != null ? request.getData() : Map.of());
+                if (request.getEmail() != null) {
+                    data.put("recipient_email", request.getEmail());
+                }
+                if (request.getSubject() != null) {
+                    data.put("subject", request.getSubject());
+                }
+                outboxService.enqueueNotification(request.getType(), request.getUserId(), data);
+                countUndelivered(request, "outbox");
+                log.warn("Notification Service unreachable ({}), {} queued in the outbox", cause.getMessage(), request.getType());
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    private void countUndelivered(NotificationRequest request, String outcome) {
+        meterRegistry.counter("outbound.notifications.undelivered", "type", String.valueOf(request.getType()), "outcome", outcome)
+            .increment();
     }
     
     public void sendClassInvitation(Long userId, String email, String className, String invitationCode) {
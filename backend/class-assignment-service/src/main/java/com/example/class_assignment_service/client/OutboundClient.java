@@ -0,0 +1,165 @@
+package com.example.class_assignment_service.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Prebuilt, pooled WebClient for one downstream service, wrapped with a per-attempt timeout,
+ * bounded jittered retries under an overall deadline, a circuit breaker and an "outbound.requests" timer.
+ */
+public class OutboundClient {
+    
+    private static final double RETRY_JITTER = 0.5;
+    // Matched by simple name: Reactor Netty shades reactor-pool into an internal package that may move
+    private static final Set<String> POOL_ACQUIRE_FAILURES = Set.of(
+        "PoolAcquirePendingLimitException", "PoolAcquireTimeoutException");
+    
+    @Getter
+    private final String target;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Duration deadline;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    
+    public OutboundClient(String target, WebClient webClient, OutboundTargetProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.target = target;
+        this.webClient = webClient;
+        this.timeout = properties.getResponseTimeout();
+        this.maxRetries = properties.getMaxRetries();
+        this.retryBackoff = properties.getRetryBackoff();
+        this.deadline = properties.getDeadline();
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+        this.meterRegistry = meterRegistry;
+        
+        Gauge.builder("outbound.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+            .description("0 = closed, 1 = open, 2 = half-open")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Build the request lazily; it is re-subscribed on every attempt.
+     *
+     * @param idempotent whether the request may be repeated after the server could have seen it;
+     *                   non-idempotent requests are only retried when the connection could not be opened
+     */
+    public <T> Mono<T> call(String operation, boolean idempotent, Function<WebClient, Mono<T>> request) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            // Set before the deadline cancels the attempt in flight, so that attempt counts as a failure
+            AtomicBoolean deadlineExpired = new AtomicBoolean();
+            Mono<T> attempt = attempt(request, deadlineExpired);
+            Mono<T> withRetry = maxRetries > 0
+                ? attempt.retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                    .jitter(RETRY_JITTER)
+                    .filter(e -> idempotent ? isServerFailure(e) : isConnectFailure(e))
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                : attempt;
+            return withRetry
+                .timeout(Mono.delay(deadline).doOnNext(tick -> deadlineExpired.set(true)))
+                .doOnSuccess(result -> record(sample, operation, "success"))
+                .doOnError(e -> record(sample, operation, outcome(e)));
+        });
+    }
+    
+    private <T> Mono<T> attempt(Function<WebClient, Mono<T>> request, AtomicBoolean deadlineExpired) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.error(new CircuitOpenException(target));
+            }
+            return request.apply(webClient)
+                .timeout(timeout)
+                .doOnSuccess(result -> circuitBreaker.onSuccess())
+                .doOnError(e -> {
+                    if (isServerFailure(e)) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        // The service answered (e.g. 4xx); it is healthy
+                        circuitBreaker.onSuccess();
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (deadlineExpired.get()) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onCancel();
+                    }
+                });
+        });
+    }
+    
+    /**
+     * Blocking variant of {@link #call} for callers on request threads; bounded by the deadline
+     */
+    public <T> T execute(String operation, boolean idempotent, Function<WebClient, Mono<T>> request) {
+        return call(operation, idempotent, request).block();
+    }
+    
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+    
+    /**
+     * Whether a failed call never reached the server: circuit open, pool pending queue full or
+     * acquire timed out, or connection refused. Such calls are safe to deliver another way.
+     */
+    public static boolean isNotSent(Throwable e) {
+        return e instanceof CircuitOpenException
+            || isConnectFailure(e)
+            || (e instanceof WebClientRequestException
+                && e.getCause() != null
+                && POOL_ACQUIRE_FAILURES.contains(e.getCause().getClass().getSimpleName()));
+    }
+    
+    private void record(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("outbound.requests")
+            .tag("target", target)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+    
+    private static boolean isServerFailure(Throwable e) {
+        return e instanceof WebClientRequestException
+            || e instanceof TimeoutException
+            || (e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError());
+    }
+    
+    private static boolean isConnectFailure(Throwable e) {
+        return e instanceof WebClientRequestException && e.getCause() instanceof ConnectException;
+    }
+    
+    private static String outcome(Throwable e) {
+        if (e instanceof CircuitOpenException) {
+            return "circuit_open";
+        }
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() ? "server_error" : "client_error";
+        }
+        if (e instanceof WebClientRequestException) {
+            return "connect_error";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.class_assignment_service.client;
+
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shared outbound HTTP clients, one per downstream service configured under services.*
+ */
+public class OutboundClients implements AutoCloseable {
+    
+    private final Map<String, OutboundClient> clients;
+    private final List<ConnectionProvider> connectionProviders;
+    
+    public OutboundClients(Map<String, OutboundClient> clients, List<ConnectionProvider> connectionProviders) {
+        this.clients = Map.copyOf(clients);
+        this.connectionProviders = List.copyOf(connectionProviders);
+    }
+    
+    public OutboundClient get(String target) {
+        OutboundClient client = clients.get(target);
+        if (client == null) {
+            throw new IllegalStateException("No outbound client configured for services." + target);
+        }
+        return client;
+    }
+    
+    @Override
+    public void close() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+}
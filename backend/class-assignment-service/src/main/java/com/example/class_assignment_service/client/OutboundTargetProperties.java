@@ -0,0 +1,34 @@
+package com.example.class_assignment_service.client;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, timeout, retry and circuit breaker settings of one downstream service,
+ * bound from services.{name}.*
+ */
+@Data
+public class OutboundTargetProperties {
+    
+    private String url;
+    
+    // Reactor Netty connection pool
+    private int maxConnections = 50;
+    private int pendingAcquireMaxCount = 100;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    
+    private int maxRetries = 2;
+    private Duration retryBackoff = Duration.ofMillis(100);
+    
+    // Overall budget of one call across every attempt and backoff
+    private Duration deadline = Duration.ofSeconds(6);
+    
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+}
@@ -4,34 +4,21 @@ import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-import java.util.Map;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class QuizServiceClient {
     
-    private final WebClient.Builder webClientBuilder;
-    
-    @Value("${services.quiz-service.url:http://localhost:8082}")
-    private String quizServiceUrl;
+    private static final String TARGET = "quiz-service";
     
-    private WebClient getWebClient() {
-        return webClientBuilder
-            .baseUrl(quizServiceUrl)
-            .build();
-    }
+    private final OutboundClients outboundClients;
     
     public QuizInfo getQuizInfo(Long quizId) {
         try {
-            return getWebClient()
+            return outboundClients.get(TARGET).execute("getQuizInfo", true, webClient -> webClient
                 .get()
                 .uri("/quizzes/{id}", quizId)
                 .retrieve()
@@ -39,13 +26,7 @@ public class QuizServiceClient {
                     log.error("Quiz not found: {}", quizId);
                     return Mono.error(new AppException(ErrorCode.QUIZ_NOT_FOUND));
                 })
-                .onStatus(status -> status.is5xxServerError(), response -> {
-                    log.error("Quiz Service error for quiz: {}", quizId);
-                    return Mono.error(new AppException(ErrorCode.QUIZ_SERVICE_ERROR));
-                })
-                .bodyToMono(QuizInfo.class)
-                .timeout(Duration.ofSeconds(5))
-                .block();
+                .bodyToMono(QuizInfo.class));
         } catch (Exception e) {
             log.error("Error calling Quiz Service: {}", e.getMessage(), e);
             throw new AppException(ErrorCode.QUIZ_SERVICE_ERROR, "Failed to fetch quiz info", e);
@@ -54,7 +35,7 @@ public class QuizServiceClient {
     
     public QuizAttemptResult getQuizAttemptResult(Long attemptId) {
         try {
-            return getWebClient()
+            return outboundClients.get(TARGET).execute("getQuizAttemptResult", true, webClient -> webClient
                 .get()
                 .uri("/api/quiz-attempts/{id}", attemptId)
                 .retrieve()
@@ -62,13 +43,7 @@ public class QuizServiceClient {
                     log.error("Quiz attempt not found: {}", attemptId);
                     return Mono.error(new AppException(ErrorCode.QUIZ_NOT_FOUND));
                 })
-                .onStatus(status -> status.is5xxServerError(), response -> {
-                    log.error("Quiz Service error for attempt: {}", attemptId);
-                    return Mono.error(new AppException(ErrorCode.QUIZ_SERVICE_ERROR));
-                })
-                .bodyToMono(QuizAttemptResult.class)
-                .timeout(Duration.ofSeconds(5))
-                .block();
+                .bodyToMono(QuizAttemptResult.class));
         } catch (Exception e) {
             log.error("Error calling Quiz Service: {}", e.getMessage(), e);
             throw new AppException(ErrorCode.QUIZ_SERVICE_ERROR, "Failed to fetch quiz attempt", e);
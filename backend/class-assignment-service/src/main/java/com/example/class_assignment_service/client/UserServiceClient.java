@@ -2,37 +2,42 @@ package com.example.class_assignment_service.client;
 
 import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.sql.PreparedStatement;
 import java.time.Duration;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserServiceClient {
     
-    private final WebClient.Builder webClientBuilder;
-    private final JdbcTemplate jdbcTemplate;
+    private static final int USER_NAME_CACHE_SIZE = 10_000;
+    private static final Duration USER_NAME_CACHE_TTL = Duration.ofMinutes(10);
+    
+    private static final String TARGET = "auth-service";
     
-    @Value("${services.auth-service.url:http://localhost:8081}")
-    private String authServiceUrl;
+    private final OutboundClients outboundClients;
+    private final JdbcTemplate jdbcTemplate;
     
     // Cache email -> userId mapping to avoid repeated calls
     private final Map<String, Long> emailToUserIdCache = new ConcurrentHashMap<>();
     
-    private WebClient getWebClient() {
-        return webClientBuilder
-            .baseUrl(authServiceUrl)
-            .build();
-    }
+    // Bounded userId -> full_name cache; names change rarely, so a short TTL is enough
+    private final Cache<Long, String> userNameCache = Caffeine.newBuilder()
+        .maximumSize(USER_NAME_CACHE_SIZE)
+        .expireAfterWrite(USER_NAME_CACHE_TTL)
+        .build();
     
     /**
      * Get user ID from email
@@ -59,7 +64,7 @@ public class UserServiceClient {
         // Fallback: Try Auth Service API if database query fails
         try {
             log.debug("Database query failed, trying Auth Service API for email: {}", email);
-            UserInfo userInfo = getWebClient()
+            UserInfo userInfo = outboundClients.get(TARGET).execute("getUserByEmail", true, webClient -> webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/api/users/by-email")
@@ -70,13 +75,7 @@ public class UserServiceClient {
                     log.warn("User not found in Auth Service for email: {}", email);
                     return Mono.error(new AppException(ErrorCode.UNAUTHORIZED, "User not found"));
                 })
-                .onStatus(status -> status.is5xxServerError(), response -> {
-                    log.error("Auth Service error for email: {}", email);
-                    return Mono.error(new AppException(ErrorCode.UNAUTHORIZED, "Auth Service unavailable"));
-                })
-                .bodyToMono(UserInfo.class)
-                .timeout(Duration.ofSeconds(3))
-                .block();
+                .bodyToMono(UserInfo.class));
             
             if (userInfo != null && userInfo.id() != null) {
                 // Cache the result
@@ -179,32 +178,50 @@ public class UserServiceClient {
     }
 
     /**
-     * Get full name from database by userId
+     * Get full name by userId (served from the user name cache when possible)
      */
     public String getUserNameById(Long userId) {
         if (userId == null) {
             return null;
         }
+        return getUserNamesByIds(List.of(userId)).get(userId);
+    }
 
-        try {
-            log.debug("Querying database for full_name by userId: {}", userId);
-            String sql = "SELECT full_name FROM users WHERE id = ? LIMIT 1";
-            String name = jdbcTemplate.queryForObject(sql, String.class, userId);
+    /**
+     * Get full names for many users with a single query; cached names are not re-queried.
+     * Users that do not exist are absent from the returned map.
+     */
+    public Map<Long, String> getUserNamesByIds(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-            if (name != null) {
-                log.debug("Retrieved full_name {} for userId: {}", name, userId);
-                return name;
-            }
+        Map<Long, String> names = new HashMap<>(userNameCache.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !names.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return names;
+        }
 
-            log.warn("User name not found in database for userId: {}", userId);
-            return null;
-        } catch (org.springframework.dao.EmptyResultDataAccessException e) {
-            log.warn("User not found in database for userId: {}", userId);
-            return null;
+        try {
+            log.debug("Querying database for full_name of {} users", missing.size());
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement("SELECT id, full_name FROM users WHERE id = ANY(?)");
+                ps.setArray(1, connection.createArrayOf("bigint", missing.toArray()));
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                String name = rs.getString("full_name");
+                if (name != null) {
+                    names.put(rs.getLong("id"), name);
+                }
+            });
+            missing.stream()
+                .filter(names::containsKey)
+                .forEach(id -> userNameCache.put(id, names.get(id)));
         } catch (Exception e) {
-            log.error("Failed to get user name from database for userId {}: {}", userId, e.getMessage());
-            return null;
+            log.error("Failed to get user names from database for {} users: {}", missing.size(), e.getMessage());
         }
+        return names;
     }
     
     public record UserInfo(Long id, String email, String name) {}
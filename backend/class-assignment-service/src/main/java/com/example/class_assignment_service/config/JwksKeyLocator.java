@@ -0,0 +1,108 @@
+package com.example.class_assignment_service.config;
+
+import com.example.class_assignment_service.client.OutboundClients;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves token verification keys offline: RS256 keys by kid from the Auth Service JWKS, cached and
+ * refetched when an unknown kid shows up (key rotation) or the cache is older than its max age.
+ * HS512 tokens issued before the switch verify with the shared secret only while app.jwt.accept-legacy-hs512 is on.
+ */
+@Slf4j
+@Component
+public class JwksKeyLocator extends LocatorAdapter<Key> {
+    
+    private static final String TARGET = "auth-service";
+    
+    private final OutboundClients outboundClients;
+    private final Key legacySecretKey;
+    private final Duration maxAge;
+    private final Duration minRefreshInterval;
+    
+    private volatile Map<String, Key> keysById = Map.of();
+    private volatile long fetchedAtNanos;
+    private volatile long lastAttemptNanos;
+    
+    public JwksKeyLocator(OutboundClients outboundClients,
+                          @Value("${app.jwt.accept-legacy-hs512:false}") boolean acceptLegacyHs512,
+                          @Value("${app.jwt.secret:}") String legacySecret,
+                          @Value("${app.jwt.jwks-max-age:10m}") Duration maxAge,
+                          @Value("${app.jwt.jwks-min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.outboundClients = outboundClients;
+        if (acceptLegacyHs512 && legacySecret.isEmpty()) {
+            throw new IllegalStateException("app.jwt.accept-legacy-hs512 requires app.jwt.secret");
+        }
+        this.legacySecretKey = acceptLegacyHs512
+            ? Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8))
+            : null;
+        this.maxAge = maxAge;
+        this.minRefreshInterval = minRefreshInterval;
+    }
+    
+    @Override
+    protected Key locate(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if ("HS512".equals(algorithm)) {
+            return legacySecretKey;
+        }
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            return null;
+        }
+        
+        String kid = header.getKeyId();
+        if (kid == null) {
+            return null;
+        }
+        Key key = keysById.get(kid);
+        if (key == null || System.nanoTime() - fetchedAtNanos > maxAge.toNanos()) {
+            refresh();
+            key = keysById.get(kid);
+        }
+        return key;
+    }
+    
+    // Rate limited so tokens with bogus kids cannot hammer the Auth Service
+    private synchronized void refresh() {
+        long now = System.nanoTime();
+        if (lastAttemptNanos != 0 && now - lastAttemptNanos < minRefreshInterval.toNanos()) {
+            return;
+        }
+        lastAttemptNanos = now;
+        
+        try {
+            String json = outboundClients.get(TARGET).execute("getJwks", true, webClient -> webClient
+                .get()
+                .uri("/.well-known/jwks.json")
+                .retrieve()
+                .bodyToMono(String.class));
+            JwkSet jwkSet = Jwks.setParser().build().parse(json);
+            
+            Map<String, Key> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet) {
+                if (jwk.getId() != null) {
+                    keys.put(jwk.getId(), jwk.toKey());
+                }
+            }
+            keysById = Map.copyOf(keys);
+            fetchedAtNanos = now;
+            log.debug("Loaded {} token verification keys from Auth Service", keys.size());
+        } catch (Exception e) {
+            // Keep serving the keys we already have
+            log.warn("Failed to refresh JWKS from Auth Service: {}", e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.class_assignment_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,8 +15,13 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
     
     public static final String QUIZ_SUBMITTED_QUEUE = "quiz.submitted";
+    // quiz.submitted messages that fail on their own; replaying them is safe (score sync is idempotent)
+    public static final String QUIZ_SUBMITTED_DLQ = "quiz.submitted.dlq";
     public static final String DEADLINE_REMINDER_QUEUE = "deadline.reminder";
     public static final String DEADLINE_REMINDER_EXCHANGE = "deadline.reminder.exchange";
+    // Declared and consumed by notification-service (topic, bound with notification.#)
+    public static final String NOTIFICATION_EXCHANGE = "notification-exchange";
+    public static final String NOTIFICATION_ROUTING_PREFIX = "notification.";
     
     @Bean
     public MessageConverter messageConverter() {
@@ -27,16 +35,51 @@ public class RabbitMQConfig {
         return template;
     }
     
+    /**
+     * Batch consumer for quiz.submitted: each listener call receives up to batch-size events,
+     * and consumers scale between concurrency and max-concurrency under backlog.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory quizSubmittedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.quiz-submitted.batch-size:50}") int batchSize,
+            @Value("${app.quiz-submitted.concurrency:2}") int concurrency,
+            @Value("${app.quiz-submitted.max-concurrency:8}") int maxConcurrency,
+            @Value("${app.quiz-submitted.receive-timeout:200}") long receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize * 2);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        return factory;
+    }
+    
     @Bean
     public Queue quizSubmittedQueue() {
         return QueueBuilder.durable(QUIZ_SUBMITTED_QUEUE).build();
     }
     
+    @Bean
+    public Queue quizSubmittedDeadLetterQueue() {
+        return QueueBuilder.durable(QUIZ_SUBMITTED_DLQ).build();
+    }
+    
     @Bean
     public Queue deadlineReminderQueue() {
         return QueueBuilder.durable(DEADLINE_REMINDER_QUEUE).build();
     }
     
+    @Bean
+    public TopicExchange notificationExchange() {
+        return new TopicExchange(NOTIFICATION_EXCHANGE);
+    }
+    
     @Bean
     public TopicExchange deadlineReminderExchange() {
         return new TopicExchange(DEADLINE_REMINDER_EXCHANGE);
@@ -1,5 +1,7 @@
 package com.example.class_assignment_service.config;
 
+import com.example.class_assignment_service.listener.MembershipInvalidationListener;
+import com.example.class_assignment_service.service.MembershipCacheService;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -7,6 +9,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -29,5 +33,14 @@ public class RedisConfig {
             .cacheDefaults(config)
             .build();
     }
+    
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        MembershipInvalidationListener membershipInvalidationListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(membershipInvalidationListener,
+            new ChannelTopic(MembershipCacheService.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
-
@@ -48,6 +48,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:3001"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("X-Next-Cursor")); // keyset cursor of GET /api/classes
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
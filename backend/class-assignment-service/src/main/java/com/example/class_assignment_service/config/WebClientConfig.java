@@ -1,15 +1,66 @@
 package com.example.class_assignment_service.config;
 
+import com.example.class_assignment_service.client.OutboundClient;
+import com.example.class_assignment_service.client.OutboundClients;
+import com.example.class_assignment_service.client.OutboundTargetProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds one pooled WebClient per downstream service from services.{name}.*.
+ * The WebClient.Builder is Spring Boot's auto-configured one, so http.client.requests metrics are kept.
+ */
 @Configuration
 public class WebClientConfig {
     
+    private static final Duration POOL_EVICTION_INTERVAL = Duration.ofSeconds(30);
+    
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public OutboundClients outboundClients(WebClient.Builder webClientBuilder, Environment environment,
+                                           MeterRegistry meterRegistry) {
+        Map<String, OutboundTargetProperties> targets = Binder.get(environment)
+            .bind("services", Bindable.mapOf(String.class, OutboundTargetProperties.class))
+            .orElse(Map.of());
+        
+        Map<String, OutboundClient> clients = new HashMap<>();
+        List<ConnectionProvider> providers = new ArrayList<>();
+        targets.forEach((name, properties) -> {
+            ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(POOL_EVICTION_INTERVAL)
+                .metrics(true)
+                .build();
+            providers.add(provider);
+            
+            HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+            
+            WebClient webClient = webClientBuilder.clone()
+                .baseUrl(properties.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+            clients.put(name, new OutboundClient(name, webClient, properties, meterRegistry));
+        });
+        return new OutboundClients(clients, providers);
     }
 }
-
@@ -4,6 +4,8 @@ import com.example.class_assignment_service.dto.request.CreateAssignmentRequest;
 import com.example.class_assignment_service.dto.request.SubmitAssignmentRequest;
 import com.example.class_assignment_service.dto.response.ApiResponse;
 import com.example.class_assignment_service.dto.response.AssignmentResponse;
+import com.example.class_assignment_service.exception.AppException;
+import com.example.class_assignment_service.exception.ErrorCode;
 import com.example.class_assignment_service.service.AssignmentService;
 import com.example.class_assignment_service.util.SecurityUtil;
 import jakarta.validation.Valid;
@@ -38,6 +40,17 @@ public class AssignmentController {
         return ResponseEntity.ok(ApiResponse.success(responses));
     }
     
+    @GetMapping("/me/upcoming")
+    public ResponseEntity<ApiResponse<List<AssignmentResponse>>> getUpcomingAssignments(
+            @RequestParam(defaultValue = "20") int size) {
+        Long userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED, "User not authenticated or invalid token");
+        }
+        List<AssignmentResponse> responses = assignmentService.getUpcomingAssignments(userId, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(responses));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AssignmentResponse>> getAssignment(@PathVariable Long id) {
         Long userId = SecurityUtil.getCurrentUserId();
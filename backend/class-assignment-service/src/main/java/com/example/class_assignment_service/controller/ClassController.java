@@ -21,6 +21,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClassController {
     
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final ClassService classService;
     
     @PostMapping
@@ -62,15 +65,33 @@ public class ClassController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    /**
+     * Without size every class is returned. With size, at most size classes (newest first) are returned
+     * and X-Next-Cursor carries the cursor of the next page when there is one.
+     */
     @GetMapping
     public ResponseEntity<ApiResponse<List<ClassResponse>>> getClasses(
-            @RequestParam(required = false) String role) {
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long cursor) {
         Long userId = SecurityUtil.getCurrentUserId();
         if (userId == null) {
             throw new AppException(ErrorCode.UNAUTHORIZED, "User not authenticated or invalid token");
         }
-        List<ClassResponse> responses = classService.getClassesByUser(userId, role);
-        return ResponseEntity.ok(ApiResponse.success(responses));
+        if (size == null) {
+            return ResponseEntity.ok(ApiResponse.success(classService.getClassesByUser(userId, role, cursor, null)));
+        }
+        
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // One extra row tells whether another page exists
+        List<ClassResponse> responses = classService.getClassesByUser(userId, role, cursor, limit + 1);
+        if (responses.size() <= limit) {
+            return ResponseEntity.ok(ApiResponse.success(responses));
+        }
+        List<ClassResponse> page = responses.subList(0, limit);
+        return ResponseEntity.ok()
+            .header(NEXT_CURSOR_HEADER, String.valueOf(page.get(limit - 1).getId()))
+            .body(ApiResponse.success(page));
     }
     
     @DeleteMapping("/{id}")
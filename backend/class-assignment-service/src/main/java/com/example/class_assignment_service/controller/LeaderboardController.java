@@ -1,6 +1,7 @@
 package com.example.class_assignment_service.controller;
 
 import com.example.class_assignment_service.dto.response.ApiResponse;
+import com.example.class_assignment_service.dto.response.LeaderboardEntryResponse;
 import com.example.class_assignment_service.dto.response.LeaderboardResponse;
 import com.example.class_assignment_service.service.LeaderboardService;
 import lombok.RequiredArgsConstructor;
@@ -20,5 +21,18 @@ public class LeaderboardController {
         LeaderboardResponse response = leaderboardService.getLeaderboard(classId, userId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    @GetMapping("/class/{classId}/me")
+    public ResponseEntity<ApiResponse<LeaderboardEntryResponse>> getMyStanding(@PathVariable Long classId) {
+        Long userId = com.example.class_assignment_service.util.SecurityUtil.getCurrentUserId();
+        LeaderboardEntryResponse response = leaderboardService.getStudentStanding(classId, userId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/class/{classId}/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildLeaderboard(@PathVariable Long classId) {
+        Long userId = com.example.class_assignment_service.util.SecurityUtil.getCurrentUserId();
+        leaderboardService.rebuildLeaderboard(classId, userId);
+        return ResponseEntity.ok(ApiResponse.success("Leaderboard rebuilt", null));
+    }
 }
-
@@ -2,8 +2,11 @@ package com.example.class_assignment_service.controller;
 
 import com.example.class_assignment_service.dto.response.ApiResponse;
 import com.example.class_assignment_service.dto.response.ClassReportResponse;
+import com.example.class_assignment_service.service.GradebookExportService;
 import com.example.class_assignment_service.service.ReportService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,7 +15,10 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class ReportController {
     
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    
     private final ReportService reportService;
+    private final GradebookExportService gradebookExportService;
     
     @GetMapping("/class/{classId}")
     public ResponseEntity<ApiResponse<ClassReportResponse>> getClassReport(@PathVariable Long classId) {
@@ -20,5 +26,15 @@ public class ReportController {
         ClassReportResponse response = reportService.getClassReport(classId, userId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    @GetMapping("/class/{classId}/export.xlsx")
+    public void exportGradebook(@PathVariable Long classId, HttpServletResponse response) {
+        Long userId = com.example.class_assignment_service.util.SecurityUtil.getCurrentUserId();
+        // Headers are set only when the export starts streaming, after the class and permission checks
+        gradebookExportService.exportGradebook(classId, userId, () -> {
+            response.setContentType(XLSX_CONTENT_TYPE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"gradebook-" + classId + ".xlsx\"");
+            return response.getOutputStream();
+        });
+    }
 }
-
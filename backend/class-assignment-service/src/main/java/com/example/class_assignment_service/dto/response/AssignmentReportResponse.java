@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,6 +22,8 @@ public class AssignmentReportResponse {
     private Double averageScore;
     private Double maxScore;
     private Double minScore;
+    private Double standardDeviation;
+    private List<Integer> scoreDistribution; // Submissions per 10-point bucket; the last bucket is 90+
     private Double completionRate;
 }
 
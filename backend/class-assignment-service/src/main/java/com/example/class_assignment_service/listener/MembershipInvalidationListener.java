@@ -0,0 +1,25 @@
+package com.example.class_assignment_service.listener;
+
+import com.example.class_assignment_service.service.MembershipCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MembershipInvalidationListener implements MessageListener {
+    
+    private final MembershipCacheService membershipCacheService;
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("Received membership invalidation: {}", body);
+        membershipCacheService.handleInvalidation(body);
+    }
+}
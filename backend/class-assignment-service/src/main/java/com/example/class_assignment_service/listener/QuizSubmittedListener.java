@@ -1,58 +1,91 @@
 package com.example.class_assignment_service.listener;
 
-import com.example.class_assignment_service.model.StudentProgress;
-import com.example.class_assignment_service.repository.AssignmentRepository;
-import com.example.class_assignment_service.repository.StudentProgressRepository;
+import com.example.class_assignment_service.config.RabbitMQConfig;
 import com.example.class_assignment_service.service.AssignmentService;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class QuizSubmittedListener {
     
     private final AssignmentService assignmentService;
-    private final StudentProgressRepository progressRepository;
-    private final AssignmentRepository assignmentRepository;
+    private final ObjectMapper objectMapper;
+    // Dead-lettered copies keep the original body plus x-exception-* headers for inspection and replay
+    private final MessageRecoverer deadLetterPublisher;
+    
+    public QuizSubmittedListener(AssignmentService assignmentService, ObjectMapper objectMapper,
+                                 RabbitTemplate rabbitTemplate) {
+        this.assignmentService = assignmentService;
+        this.objectMapper = objectMapper;
+        this.deadLetterPublisher = new RepublishMessageRecoverer(rabbitTemplate, "", RabbitMQConfig.QUIZ_SUBMITTED_DLQ);
+    }
     
-    @RabbitListener(queues = "quiz.submitted")
-    public void handleQuizSubmitted(QuizSubmittedEvent event) {
-        log.info("Received quiz submitted event: {}", event);
+    /**
+     * Applies the batch in one transaction. If that fails, each message is retried in its own transaction
+     * and only the ones that still fail go to the dead-letter queue, so one bad event cannot drop the batch.
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUIZ_SUBMITTED_QUEUE, containerFactory = "quizSubmittedContainerFactory")
+    public void handleQuizSubmitted(List<Message> messages) {
+        log.info("Received {} quiz submitted events", messages.size());
         
-        // 1) Try find by existing attemptId (old behavior)
-        StudentProgress progress = progressRepository
-            .findByAttemptIdIsNotNull()
-            .stream()
-            .filter(p -> p.getAttemptId() != null && p.getAttemptId().equals(event.quizAttemptId()))
-            .findFirst()
-            .orElse(null);
+        // Progress rows are matched by attemptId first, then by quizId + userId (attemptId not saved yet)
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<AssignmentService.QuizSubmission> submissions = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                QuizSubmittedEvent event = objectMapper.readValue(message.getBody(), QuizSubmittedEvent.class);
+                submissions.add(new AssignmentService.QuizSubmission(
+                    event.quizAttemptId(),
+                    event.quizId(),
+                    event.userId(),
+                    event.score() != null ? event.score().intValue() : 0
+                ));
+                accepted.add(message);
+            } catch (IOException e) {
+                deadLetter(message, e);
+            }
+        }
+        if (submissions.isEmpty()) {
+            return;
+        }
         
-        // 2) If not found, try map by quizId + userId (common case when attemptId not saved yet)
-        if (progress == null) {
-            assignmentRepository.findByQuizId(event.quizId()).forEach(assignment -> {
-                progressRepository.findByAssignmentIdAndStudentId(assignment.getId(), event.userId())
-                    .ifPresent(p -> {
-                        assignmentService.syncProgressScore(
-                            p.getId(),
-                            event.quizAttemptId(),
-                            event.score() != null ? event.score().intValue() : 0
-                        );
-                    });
-            });
+        try {
+            assignmentService.syncQuizSubmissions(submissions);
             return;
+        } catch (RuntimeException e) {
+            if (submissions.size() == 1) {
+                deadLetter(accepted.get(0), e);
+                return;
+            }
+            log.warn("Batch of {} quiz submissions failed, applying them one by one: {}", submissions.size(), e.getMessage());
         }
         
-        assignmentService.syncProgressScore(
-            progress.getId(),
-            event.quizAttemptId(),
-            event.score() != null ? event.score().intValue() : 0
-        );
+        for (int i = 0; i < submissions.size(); i++) {
+            try {
+                assignmentService.syncQuizSubmissions(List.of(submissions.get(i)));
+            } catch (RuntimeException e) {
+                deadLetter(accepted.get(i), e);
+            }
+        }
+    }
+    
+    // A failed publish propagates, so the container retries the batch instead of acknowledging it
+    private void deadLetter(Message message, Throwable cause) {
+        log.error("Dead-lettering quiz submitted event to {}: {}", RabbitMQConfig.QUIZ_SUBMITTED_DLQ, cause.getMessage());
+        deadLetterPublisher.recover(message, cause);
     }
     
     public record QuizSubmittedEvent(Long quizAttemptId, Long quizId, Long userId, 
                                      Double score, Double maxScore) {}
 }
-
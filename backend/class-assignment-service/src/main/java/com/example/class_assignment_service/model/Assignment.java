@@ -11,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+    @Index(name = "idx_assignments_due_time", columnList = "due_time"),
+    @Index(name = "idx_assignments_class_due", columnList = "class_id, due_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
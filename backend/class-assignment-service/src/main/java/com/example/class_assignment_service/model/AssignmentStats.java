@@ -0,0 +1,59 @@
+package com.example.class_assignment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Running score statistics of one assignment, maintained on every score change.
+ * Only SUBMITTED progress rows with a score are counted.
+ */
+@Entity
+@Table(name = "assignment_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentStats extends BaseEntity {
+    
+    public static final int BUCKET_WIDTH = 10;
+    public static final int BUCKET_COUNT = 10;
+    
+    @Column(name = "assignment_id", nullable = false, unique = true)
+    private Long assignmentId;
+    
+    @Column(name = "submission_count", nullable = false)
+    @Builder.Default
+    private Long submissionCount = 0L;
+    
+    @Column(name = "score_sum", nullable = false)
+    @Builder.Default
+    private Long scoreSum = 0L;
+    
+    @Column(name = "score_sum_squares", nullable = false)
+    @Builder.Default
+    private Long scoreSumSquares = 0L;
+    
+    @Column(name = "min_score")
+    private Integer minScore;
+    
+    @Column(name = "max_score")
+    private Integer maxScore;
+    
+    // Bucket i counts scores in [i * BUCKET_WIDTH, (i + 1) * BUCKET_WIDTH); the last bucket is open-ended
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "histogram", nullable = false)
+    @Builder.Default
+    private int[] histogram = new int[BUCKET_COUNT];
+    
+    public static int bucketOf(int score) {
+        if (score < 0) {
+            return 0;
+        }
+        return Math.min(score / BUCKET_WIDTH, BUCKET_COUNT - 1);
+    }
+}
@@ -3,7 +3,10 @@ package com.example.class_assignment_service.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
@@ -11,8 +14,12 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 public abstract class BaseEntity {
     
+    // Pooled sequence (allocation 50, one {table}_id_seq per table): ids are assigned before the INSERT,
+    // which lets Hibernate batch inserts; IDENTITY forces one INSERT round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_sequence")
+    @GenericGenerator(name = "table_sequence", type = TableSequenceIdGenerator.class,
+        parameters = @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"))
     private Long id;
     
     @CreationTimestamp
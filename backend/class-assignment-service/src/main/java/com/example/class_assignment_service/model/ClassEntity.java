@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +37,17 @@ public class ClassEntity extends BaseEntity {
     @Column(name = "invitation_code", length = 20, unique = true)
     private String invitationCode;
     
+    // Denormalized counters: written only by the atomic updates in ClassRepository, so entity saves never overwrite them
+    @Column(name = "member_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer memberCount = 0;
+    
+    @Column(name = "assignment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer assignmentCount = 0;
+    
     @OneToMany(mappedBy = "classEntity", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ClassMember> members = new ArrayList<>();
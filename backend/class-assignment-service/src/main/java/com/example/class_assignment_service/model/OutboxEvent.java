@@ -0,0 +1,39 @@
+package com.example.class_assignment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message written in the same transaction as the change that caused it and
+ * published to RabbitMQ afterwards by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_published_at", columnList = "published_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent extends BaseEntity {
+    
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+    
+    @Column(nullable = false)
+    private String exchange;
+    
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,48 @@
+package com.example.class_assignment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One deadline reminder (assignment, offset, due time). An instance claims it with a lease,
+ * and marks it SENT once the notifications are in the outbox; an expired CLAIMED lease can be taken over.
+ */
+@Entity
+@Table(name = "reminder_dispatches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_reminder_dispatches", columnNames = {"assignment_id", "offset_minutes", "due_time"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderDispatch extends BaseEntity {
+    
+    public static final String STATUS_CLAIMED = "CLAIMED";
+    public static final String STATUS_SENT = "SENT";
+    
+    @Column(name = "assignment_id", nullable = false)
+    private Long assignmentId;
+    
+    @Column(name = "offset_minutes", nullable = false)
+    private Integer offsetMinutes;
+    
+    @Column(name = "due_time", nullable = false)
+    private LocalDateTime dueTime;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+    
+    @Column(nullable = false)
+    private String owner;
+    
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+    
+    @Column(name = "recipient_count")
+    private Integer recipientCount;
+}
@@ -11,6 +11,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "student_progress", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"assignment_id", "student_id"})
+}, indexes = {
+    @Index(name = "idx_student_progress_attempt_id", columnList = "attempt_id")
 })
 @Data
 @Builder
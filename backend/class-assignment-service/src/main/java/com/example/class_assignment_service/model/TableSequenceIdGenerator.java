@@ -0,0 +1,25 @@
+package com.example.class_assignment_service.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Pooled sequence generator named {table}_{column}_seq, the name PostgreSQL gives BIGSERIAL sequences.
+ * Hibernate and raw SQL inserts (column default or explicit nextval) then draw from the same sequence,
+ * so existing tables keep their sequences and ids never collide.
+ * Only the name is fixed here; increment_size comes from the mapping as usual.
+ */
+public class TableSequenceIdGenerator extends SequenceStyleGenerator {
+    
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, parameters.getProperty(PersistentIdentifierGenerator.TABLE)
+            + "_" + parameters.getProperty(PersistentIdentifierGenerator.PK) + "_seq");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.class_assignment_service.repository;
 
 import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.repository.projection.UpcomingAssignmentView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +17,27 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     
     List<Assignment> findByClassEntityId(Long classId);
     
+    // Class fetched in the same statement: responses read its name and teacher
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.classEntity WHERE a.classEntity.id = :classId")
+    List<Assignment> findWithClassByClassId(@Param("classId") Long classId);
+    
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.classEntity WHERE a.id IN :ids")
+    List<Assignment> findWithClassByIdIn(@Param("ids") Collection<Long> ids);
+    
+    long countByClassEntityId(Long classId);
+    
+    // Assignments due from :from in the student's classes without a SUBMITTED row, soonest first.
+    // Walks class_members(user_id), assignments(class_id, due_time) and the student_progress unique key.
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.UpcomingAssignmentView(a.id, a.dueTime) " +
+           "FROM ClassMember m JOIN Assignment a ON a.classEntity = m.classEntity " +
+           "WHERE m.userId = :studentId AND m.role = com.example.class_assignment_service.model.enums.ClassRole.STUDENT " +
+           "AND a.dueTime >= :from " +
+           "AND NOT EXISTS (SELECT 1 FROM StudentProgress sp WHERE sp.assignment = a " +
+           "AND sp.studentId = :studentId AND sp.status = 'SUBMITTED') " +
+           "ORDER BY a.dueTime, a.id")
+    List<UpcomingAssignmentView> findUpcomingForStudent(@Param("studentId") Long studentId,
+                                                        @Param("from") LocalDateTime from, Limit limit);
+    
     List<Assignment> findByQuizId(Long quizId);
     
     @Query("SELECT a FROM Assignment a WHERE a.classEntity.id = :classId AND a.dueTime >= :now")
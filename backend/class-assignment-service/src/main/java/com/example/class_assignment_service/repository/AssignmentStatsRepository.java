@@ -0,0 +1,42 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.AssignmentStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AssignmentStatsRepository extends JpaRepository<AssignmentStats, Long> {
+    
+    List<AssignmentStats> findByAssignmentIdIn(Collection<Long> assignmentIds);
+    
+    // Row lock so concurrent score syncs of the same assignment apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AssignmentStats s WHERE s.assignmentId = :assignmentId")
+    Optional<AssignmentStats> findForUpdateByAssignmentId(@Param("assignmentId") Long assignmentId);
+    
+    /**
+     * Insert an empty stats row unless one exists. Returns 1 when this transaction created it; a concurrent
+     * creator makes the conflict wait for its commit, after which the row can be locked and updated.
+     * assignment_id is the only unique key besides the sequence id, so no conflict target is needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO assignment_stats (id, assignment_id, submission_count, score_sum, score_sum_squares, histogram, created_at, updated_at) " +
+                   "VALUES (nextval('assignment_stats_id_seq'), :assignmentId, 0, 0, 0, ARRAY[0, 0, 0, 0, 0, 0, 0, 0, 0, 0], :now, :now) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("assignmentId") Long assignmentId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM AssignmentStats s WHERE s.assignmentId = :assignmentId")
+    void deleteByAssignmentId(@Param("assignmentId") Long assignmentId);
+}
@@ -21,6 +21,16 @@ public interface ClassMemberRepository extends JpaRepository<ClassMember, Long>
     
     List<ClassMember> findByClassEntityIdAndRole(Long classId, ClassRole role);
     
+    @Query("SELECT m.userId FROM ClassMember m WHERE m.classEntity.id = :classId AND m.role = :role")
+    List<Long> findUserIdsByClassIdAndRole(@Param("classId") Long classId, @Param("role") ClassRole role);
+    
+    // Anti-join: students of the class without a SUBMITTED progress row for the assignment
+    @Query("SELECT m.userId FROM ClassMember m WHERE m.classEntity.id = :classId AND m.role = :role " +
+           "AND NOT EXISTS (SELECT 1 FROM StudentProgress sp WHERE sp.assignment.id = :assignmentId " +
+           "AND sp.studentId = m.userId AND sp.status = 'SUBMITTED')")
+    List<Long> findUserIdsWithoutSubmission(@Param("classId") Long classId, @Param("role") ClassRole role,
+                                            @Param("assignmentId") Long assignmentId);
+    
     @Query("SELECT COUNT(m) FROM ClassMember m WHERE m.classEntity.id = :classId AND m.role = :role")
     Long countByClassIdAndRole(@Param("classId") Long classId, @Param("role") ClassRole role);
     
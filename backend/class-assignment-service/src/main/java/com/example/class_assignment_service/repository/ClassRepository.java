@@ -1,7 +1,10 @@
 package com.example.class_assignment_service.repository;
 
 import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.repository.projection.MyClassView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,22 +17,46 @@ public interface ClassRepository extends JpaRepository<ClassEntity, Long> {
     
     Optional<ClassEntity> findByInvitationCode(String invitationCode);
     
-    // Find classes where user is a member (in class_members table)
-    @Query("SELECT DISTINCT c FROM ClassEntity c JOIN c.members m WHERE m.userId = :userId")
-    List<ClassEntity> findByUserId(@Param("userId") Long userId);
-    
-    // Find classes by role filter
-    // For TEACHER: classes where user is teacher (by teacher_id) OR member with TEACHER role
-    // For STUDENT: classes where user is member with STUDENT role
-    @Query("SELECT DISTINCT c FROM ClassEntity c " +
-           "LEFT JOIN c.members m " +
-           "WHERE " +
-           "(:role = 'TEACHER' AND (c.teacherId = :userId OR (m.userId = :userId AND m.role = com.example.class_assignment_service.model.enums.ClassRole.TEACHER))) OR " +
-           "(:role = 'STUDENT' AND m.userId = :userId AND m.role = com.example.class_assignment_service.model.enums.ClassRole.STUDENT)")
-    List<ClassEntity> findByUserIdAndRole(@Param("userId") Long userId, @Param("role") String role);
+    // Classes a user teaches (teacher_id) or belongs to, one row each: the join is on the (class_id, user_id)
+    // unique key. TEACHER matches teacher_id or a TEACHER membership, STUDENT a STUDENT membership.
+    // Keyset on id, newest first.
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.MyClassView(" +
+           "c.id, c.name, c.description, c.topic, c.status, c.invitationCode, c.teacherId, " +
+           "c.createdAt, c.updatedAt, c.memberCount, c.assignmentCount, m.role) " +
+           "FROM ClassEntity c LEFT JOIN ClassMember m ON m.classEntity = c AND m.userId = :userId " +
+           "WHERE (c.teacherId = :userId OR m.id IS NOT NULL) " +
+           "AND (:role IS NULL " +
+           "OR (:role = 'TEACHER' AND (c.teacherId = :userId OR m.role = com.example.class_assignment_service.model.enums.ClassRole.TEACHER)) " +
+           "OR (:role = 'STUDENT' AND m.role = com.example.class_assignment_service.model.enums.ClassRole.STUDENT)) " +
+           "AND (:beforeId IS NULL OR c.id < :beforeId) " +
+           "ORDER BY c.id DESC")
+    List<MyClassView> findClassViewsByUser(@Param("userId") Long userId, @Param("role") String role,
+                                           @Param("beforeId") Long beforeId, Limit limit);
     
     List<ClassEntity> findByStatus(String status);
     
     // Find classes where user is teacher (by teacher_id column) - Spring Data JPA auto-generated
     List<ClassEntity> findByTeacherId(Long teacherId);
+    
+    @Query("SELECT c.id FROM ClassEntity c")
+    List<Long> findAllIds();
+    
+    // Relative updates so concurrent joins/leaves in the same class never lose an increment
+    @Modifying
+    @Query("UPDATE ClassEntity c SET c.memberCount = c.memberCount + :delta WHERE c.id = :classId")
+    int adjustMemberCount(@Param("classId") Long classId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE ClassEntity c SET c.assignmentCount = c.assignmentCount + :delta WHERE c.id = :classId")
+    int adjustAssignmentCount(@Param("classId") Long classId, @Param("delta") int delta);
+    
+    // Recount from the source tables, touching only rows whose counters drifted
+    @Modifying
+    @Query(value = "UPDATE classes c SET " +
+                   "member_count = (SELECT COUNT(*) FROM class_members m WHERE m.class_id = c.id), " +
+                   "assignment_count = (SELECT COUNT(*) FROM assignments a WHERE a.class_id = c.id) " +
+                   "WHERE member_count <> (SELECT COUNT(*) FROM class_members m WHERE m.class_id = c.id) " +
+                   "OR assignment_count <> (SELECT COUNT(*) FROM assignments a WHERE a.class_id = c.id)",
+           nativeQuery = true)
+    int reconcileCounters();
 }
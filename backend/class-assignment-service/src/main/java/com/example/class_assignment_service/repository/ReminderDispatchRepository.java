@@ -0,0 +1,77 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.ReminderDispatch;
+import com.example.class_assignment_service.repository.projection.DueAssignmentView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReminderDispatchRepository extends JpaRepository<ReminderDispatch, Long> {
+    
+    // Range scan on idx_assignments_due_time; skips reminders already sent or leased by another instance
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.DueAssignmentView(" +
+           "a.id, a.title, c.id, c.name, a.dueTime) " +
+           "FROM Assignment a JOIN a.classEntity c " +
+           "WHERE a.dueTime > :from AND a.dueTime <= :to " +
+           "AND NOT EXISTS (SELECT 1 FROM ReminderDispatch r WHERE r.assignmentId = a.id " +
+           "AND r.offsetMinutes = :offsetMinutes AND r.dueTime = a.dueTime " +
+           "AND (r.status = 'SENT' OR r.leaseUntil > :now)) " +
+           "ORDER BY a.dueTime")
+    List<DueAssignmentView> findPendingInWindow(@Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("offsetMinutes") int offsetMinutes,
+                                                @Param("now") LocalDateTime now,
+                                                Pageable pageable);
+    
+    /**
+     * Insert a CLAIMED row unless one exists for the key. Returns 1 when this owner created it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO reminder_dispatches (id, assignment_id, offset_minutes, due_time, status, owner, lease_until, created_at, updated_at) " +
+                   "VALUES (nextval('reminder_dispatches_id_seq'), :assignmentId, :offsetMinutes, :dueTime, 'CLAIMED', :owner, :leaseUntil, :now, :now) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertClaim(@Param("assignmentId") Long assignmentId,
+                    @Param("offsetMinutes") int offsetMinutes,
+                    @Param("dueTime") LocalDateTime dueTime,
+                    @Param("owner") String owner,
+                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                    @Param("now") LocalDateTime now);
+    
+    /**
+     * Take over an expired CLAIMED lease. Concurrent takeovers re-check the lease under the row lock,
+     * so only one of them updates the row.
+     */
+    @Modifying
+    @Query("UPDATE ReminderDispatch r SET r.owner = :owner, r.leaseUntil = :leaseUntil, r.updatedAt = :now " +
+           "WHERE r.assignmentId = :assignmentId AND r.offsetMinutes = :offsetMinutes AND r.dueTime = :dueTime " +
+           "AND r.status = 'CLAIMED' AND r.leaseUntil < :now")
+    int takeOverExpired(@Param("assignmentId") Long assignmentId,
+                        @Param("offsetMinutes") int offsetMinutes,
+                        @Param("dueTime") LocalDateTime dueTime,
+                        @Param("owner") String owner,
+                        @Param("leaseUntil") LocalDateTime leaseUntil,
+                        @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReminderDispatch r SET r.status = 'SENT', r.recipientCount = :recipientCount, r.updatedAt = :now " +
+           "WHERE r.assignmentId = :assignmentId AND r.offsetMinutes = :offsetMinutes AND r.dueTime = :dueTime " +
+           "AND r.owner = :owner AND r.status = 'CLAIMED'")
+    int markSent(@Param("assignmentId") Long assignmentId,
+                 @Param("offsetMinutes") int offsetMinutes,
+                 @Param("dueTime") LocalDateTime dueTime,
+                 @Param("owner") String owner,
+                 @Param("recipientCount") int recipientCount,
+                 @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM ReminderDispatch r WHERE r.dueTime < :before")
+    int deleteByDueTimeBefore(@Param("before") LocalDateTime before);
+}
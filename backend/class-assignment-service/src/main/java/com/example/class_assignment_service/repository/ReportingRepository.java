@@ -0,0 +1,55 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.repository.projection.ScoreFrequencyView;
+import com.example.class_assignment_service.repository.projection.StudentTotalsView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only aggregate queries for reports and rankings.
+ * Each method is a single round trip regardless of class size.
+ */
+@org.springframework.stereotype.Repository
+public interface ReportingRepository extends Repository<StudentProgress, Long> {
+    
+    // Scores take few distinct values, so this stays small and is enough to rebuild assignment_stats exactly
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.ScoreFrequencyView(" +
+           "s.assignment.id, s.score, COUNT(s)) " +
+           "FROM StudentProgress s " +
+           "WHERE s.assignment.id IN :assignmentIds AND s.status = 'SUBMITTED' AND s.score IS NOT NULL " +
+           "GROUP BY s.assignment.id, s.score")
+    List<ScoreFrequencyView> findScoreFrequenciesByAssignmentIds(@Param("assignmentIds") Collection<Long> assignmentIds);
+    
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.StudentTotalsView(" +
+           "s.studentId, COUNT(s), SUM(CAST(s.score AS Long))) " +
+           "FROM StudentProgress s " +
+           "WHERE s.assignment.classEntity.id = :classId AND s.status = 'SUBMITTED' AND s.score IS NOT NULL " +
+           "GROUP BY s.studentId")
+    List<StudentTotalsView> findStudentTotalsByClassId(@Param("classId") Long classId);
+    
+    // Leaderboard totals: only students who are still STUDENT members of the class are ranked
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.StudentTotalsView(" +
+           "s.studentId, COUNT(s), SUM(CAST(s.score AS Long))) " +
+           "FROM StudentProgress s " +
+           "WHERE s.assignment.classEntity.id = :classId AND s.status = 'SUBMITTED' AND s.score IS NOT NULL " +
+           "AND EXISTS (SELECT m.id FROM ClassMember m WHERE m.classEntity.id = :classId AND m.userId = s.studentId " +
+           "AND m.role = com.example.class_assignment_service.model.enums.ClassRole.STUDENT) " +
+           "GROUP BY s.studentId")
+    List<StudentTotalsView> findMemberTotalsByClassId(@Param("classId") Long classId);
+    
+    @Query("SELECT new com.example.class_assignment_service.repository.projection.StudentTotalsView(" +
+           "s.studentId, COUNT(s), SUM(CAST(s.score AS Long))) " +
+           "FROM StudentProgress s " +
+           "WHERE s.assignment.classEntity.id = :classId AND s.studentId IN :studentIds " +
+           "AND s.status = 'SUBMITTED' AND s.score IS NOT NULL " +
+           "AND EXISTS (SELECT m.id FROM ClassMember m WHERE m.classEntity.id = :classId AND m.userId = s.studentId " +
+           "AND m.role = com.example.class_assignment_service.model.enums.ClassRole.STUDENT) " +
+           "GROUP BY s.studentId")
+    List<StudentTotalsView> findMemberTotalsByClassIdAndStudentIds(@Param("classId") Long classId,
+                                                                   @Param("studentIds") Collection<Long> studentIds);
+}
@@ -1,11 +1,14 @@
 package com.example.class_assignment_service.repository;
 
 import com.example.class_assignment_service.model.StudentProgress;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,18 @@ public interface StudentProgressRepository extends JpaRepository<StudentProgress
     
     Optional<StudentProgress> findByAssignmentIdAndStudentId(Long assignmentId, Long studentId);
     
+    // Row locks for score changes: the counted score being replaced must be read by one writer at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StudentProgress s WHERE s.id = :id")
+    Optional<StudentProgress> findForUpdateById(@Param("id") Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StudentProgress s WHERE s.assignment.id = :assignmentId AND s.studentId = :studentId")
+    Optional<StudentProgress> findForUpdateByAssignmentIdAndStudentId(@Param("assignmentId") Long assignmentId,
+                                                                      @Param("studentId") Long studentId);
+    
+    List<StudentProgress> findByStudentIdAndAssignmentIdIn(Long studentId, Collection<Long> assignmentIds);
+    
     @Query("SELECT s FROM StudentProgress s WHERE s.assignment.classEntity.id = :classId")
     List<StudentProgress> findByClassId(@Param("classId") Long classId);
     
@@ -26,6 +41,12 @@ public interface StudentProgressRepository extends JpaRepository<StudentProgress
     
     List<StudentProgress> findByStatus(String status);
     
-    List<StudentProgress> findByAttemptIdIsNotNull();
+    @Query("SELECT s FROM StudentProgress s JOIN FETCH s.assignment WHERE s.attemptId IN :attemptIds")
+    List<StudentProgress> findByAttemptIdIn(@Param("attemptIds") Collection<Long> attemptIds);
+    
+    // Candidates for (quizId, studentId) pairs; callers match the exact pairs in memory
+    @Query("SELECT s FROM StudentProgress s JOIN FETCH s.assignment a " +
+           "WHERE a.quizId IN :quizIds AND s.studentId IN :studentIds")
+    List<StudentProgress> findByQuizIdInAndStudentIdIn(@Param("quizIds") Collection<Long> quizIds,
+                                                       @Param("studentIds") Collection<Long> studentIds);
 }
-
@@ -0,0 +1,14 @@
+package com.example.class_assignment_service.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Assignment fields needed to send a deadline reminder
+ */
+public record DueAssignmentView(
+    Long assignmentId,
+    String title,
+    Long classId,
+    String className,
+    LocalDateTime dueTime
+) {}
@@ -0,0 +1,23 @@
+package com.example.class_assignment_service.repository.projection;
+
+import com.example.class_assignment_service.model.enums.ClassRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * Class row for a user's class list, with the user's membership role (null when only teacher_id matches)
+ */
+public record MyClassView(
+    Long id,
+    String name,
+    String description,
+    String topic,
+    String status,
+    String invitationCode,
+    Long teacherId,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    Integer memberCount,
+    Integer assignmentCount,
+    ClassRole memberRole
+) {}
@@ -0,0 +1,10 @@
+package com.example.class_assignment_service.repository.projection;
+
+/**
+ * Number of submitted progress rows per (assignment, score) pair
+ */
+public record ScoreFrequencyView(
+    Long assignmentId,
+    Integer score,
+    Long frequency
+) {}
@@ -0,0 +1,10 @@
+package com.example.class_assignment_service.repository.projection;
+
+/**
+ * Per-student totals of submitted scores inside one class
+ */
+public record StudentTotalsView(
+    Long studentId,
+    Long completedCount,
+    Long totalScore
+) {}
@@ -0,0 +1,11 @@
+package com.example.class_assignment_service.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry of a student's due index: an open, not yet submitted assignment and its due time
+ */
+public record UpcomingAssignmentView(
+    Long assignmentId,
+    LocalDateTime dueTime
+) {}
@@ -0,0 +1,31 @@
+package com.example.class_assignment_service.scheduler;
+
+import com.example.class_assignment_service.repository.ClassRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes classes.member_count and assignment_count from class_members and assignments.
+ * The counters are maintained incrementally on every write; this job repairs drift from writes
+ * that bypass the services (manual SQL, cascades) and backfills rows created before the columns existed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClassCounterReconciler {
+    
+    private final ClassRepository classRepository;
+    
+    @Scheduled(initialDelayString = "${app.class-counters.initial-delay:60000}",
+               fixedDelayString = "${app.class-counters.reconcile-interval:3600000}")
+    @Transactional
+    public void reconcile() {
+        int corrected = classRepository.reconcileCounters();
+        if (corrected > 0) {
+            log.warn("Class counter reconciliation corrected {} classes", corrected);
+        }
+    }
+}
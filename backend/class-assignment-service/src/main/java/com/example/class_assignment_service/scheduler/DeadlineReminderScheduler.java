@@ -1,71 +1,86 @@
 package com.example.class_assignment_service.scheduler;
 
-import com.example.class_assignment_service.client.NotificationServiceClient;
-import com.example.class_assignment_service.model.Assignment;
-import com.example.class_assignment_service.model.ClassMember;
-import com.example.class_assignment_service.model.StudentProgress;
-import com.example.class_assignment_service.model.enums.ClassRole;
-import com.example.class_assignment_service.repository.AssignmentRepository;
-import com.example.class_assignment_service.repository.StudentProgressRepository;
-import com.example.class_assignment_service.repository.ClassMemberRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.class_assignment_service.repository.projection.DueAssignmentView;
+import com.example.class_assignment_service.service.DeadlineReminderService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Sends deadline reminders at several offsets before the due time (24h and 1h by default).
+ * Every poll only looks at the due-time window of each offset, so reminders go out continuously
+ * instead of in one daily burst, and instances share the work through per-reminder DB leases.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class DeadlineReminderScheduler {
     
-    private final AssignmentRepository assignmentRepository;
-    private final StudentProgressRepository progressRepository;
-    private final ClassMemberRepository classMemberRepository;
-    private final NotificationServiceClient notificationServiceClient;
+    private final DeadlineReminderService reminderService;
+    private final List<Duration> offsets;
+    private final int maxPerPoll;
+    private final Duration lease;
+    private final String owner;
     
-    @Scheduled(cron = "0 0 9 * * *") // Run daily at 9 AM
+    public DeadlineReminderScheduler(DeadlineReminderService reminderService,
+                                     @Value("${app.reminders.offsets:24h,1h}") List<Duration> offsets,
+                                     @Value("${app.reminders.max-per-poll:50}") int maxPerPoll,
+                                     @Value("${app.reminders.lease:5m}") Duration lease) {
+        this.reminderService = reminderService;
+        // Largest offset first; each offset owns the window down to the next smaller one
+        this.offsets = offsets.stream().sorted(Comparator.reverseOrder()).distinct().toList();
+        this.maxPerPoll = maxPerPoll;
+        this.lease = lease;
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.reminders.poll-interval:60000}")
     public void sendDeadlineReminders() {
-        log.info("Running deadline reminder job");
-        
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tomorrow = now.plusDays(1);
+        int assignments = 0;
+        int reminders = 0;
         
-        // Find assignments with deadlines in the next 24 hours
-        List<Assignment> assignments = assignmentRepository.findAll()
-            .stream()
-            .filter(a -> a.getDueTime() != null 
-                && a.getDueTime().isAfter(now) 
-                && a.getDueTime().isBefore(tomorrow))
-            .toList();
-        
-        for (Assignment assignment : assignments) {
-            List<ClassMember> students = classMemberRepository
-                .findByClassEntityIdAndRole(assignment.getClassEntity().getId(), ClassRole.STUDENT);
+        for (int i = 0; i < offsets.size(); i++) {
+            Duration offset = offsets.get(i);
+            LocalDateTime to = now.plus(offset);
+            LocalDateTime from = i + 1 < offsets.size() ? now.plus(offsets.get(i + 1)) : now;
             
-            for (ClassMember student : students) {
-                // Check if student hasn't submitted
-                StudentProgress progress = progressRepository
-                    .findByAssignmentIdAndStudentId(assignment.getId(), student.getUserId())
-                    .orElse(null);
-                
-                boolean hasSubmitted = progress != null && progress.getStatus().equals("SUBMITTED");
-                
-                if (!hasSubmitted) {
-                    notificationServiceClient.sendDeadlineReminder(
-                        student.getUserId(),
-                        null, // Email would come from user service
-                        assignment.getTitle(),
-                        assignment.getClassEntity().getName(),
-                        assignment.getDueTime()
-                    );
+            for (DueAssignmentView assignment : reminderService.findPending(from, to, offset, maxPerPoll)) {
+                if (!reminderService.claim(assignment, offset, owner, lease)) {
+                    continue;
+                }
+                int sent = reminderService.send(assignment, offset, owner);
+                if (sent >= 0) {
+                    assignments++;
+                    reminders += sent;
                 }
             }
         }
         
-        log.info("Deadline reminder job completed. Processed {} assignments", assignments.size());
+        if (assignments > 0) {
+            log.info("Deadline reminders queued: {} reminders for {} assignments", reminders, assignments);
+        }
+    }
+    
+    @Scheduled(cron = "0 45 3 * * *") // Daily at 3:45 AM
+    public void purgeDispatches() {
+        int deleted = reminderService.purgeBefore(LocalDateTime.now().minusDays(7));
+        log.info("Purged {} reminder dispatch records", deleted);
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
     }
 }
-
@@ -0,0 +1,77 @@
+package com.example.class_assignment_service.scheduler;
+
+import com.example.class_assignment_service.model.OutboxEvent;
+import com.example.class_assignment_service.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes pending outbox rows to RabbitMQ in batches and marks them published.
+ * A batch is only marked once the broker has confirmed every message of it; on failure the
+ * transaction rolls back and the rows are picked up again (at-least-once delivery).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    
+    private static final long CONFIRM_TIMEOUT_MS = 5000;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${app.outbox.retention:7d}")
+    private Duration retention;
+    
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1000}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+            return null;
+        });
+        
+        outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        log.info("Outbox relay published {} events", events.size());
+    }
+    
+    @Scheduled(cron = "0 30 3 * * *") // Daily at 3:30 AM
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        log.info("Outbox purge removed {} published events", deleted);
+    }
+    
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setMessageId(event.getEventId())
+            .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+            .build();
+    }
+}
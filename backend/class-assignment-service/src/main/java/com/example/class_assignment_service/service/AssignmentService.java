@@ -1,6 +1,5 @@
 package com.example.class_assignment_service.service;
 
-import com.example.class_assignment_service.client.NotificationServiceClient;
 import com.example.class_assignment_service.client.QuizServiceClient;
 import com.example.class_assignment_service.dto.request.CreateAssignmentRequest;
 import com.example.class_assignment_service.dto.request.SubmitAssignmentRequest;
@@ -18,11 +17,14 @@ import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -36,7 +38,11 @@ public class AssignmentService {
     private final ClassMemberRepository classMemberRepository;
     private final PermissionService permissionService;
     private final QuizServiceClient quizServiceClient;
-    private final NotificationServiceClient notificationServiceClient;
+    private final LeaderboardIndexService leaderboardIndexService;
+    private final AssignmentStatsService assignmentStatsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+    private final DueIndexService dueIndexService;
     
     @Transactional
     public AssignmentResponse createAssignment(CreateAssignmentRequest request, Long userId) {
@@ -62,9 +68,13 @@ public class AssignmentService {
             .build();
         
         assignment = assignmentRepository.save(assignment);
+        assignmentStatsService.createEmpty(assignment.getId());
+        classRepository.adjustAssignmentCount(classEntity.getId(), 1);
         
-        // Notify all students
-        notifyStudentsAboutNewAssignment(classEntity.getId(), assignment);
+        // Notify all students and put the assignment on their due lists
+        List<Long> studentIds = classMemberRepository.findUserIdsByClassIdAndRole(classEntity.getId(), ClassRole.STUDENT);
+        notifyStudentsAboutNewAssignment(studentIds, assignment);
+        dueIndexService.addAssignment(assignment.getId(), assignment.getDueTime(), studentIds);
         
         log.info("Assignment created: {} in class: {} by user: {}", assignment.getId(), request.getClassId(), userId);
         return toResponse(assignment, userId);
@@ -72,12 +82,49 @@ public class AssignmentService {
     
     public List<AssignmentResponse> getAssignmentsByClass(Long classId, Long userId) {
         permissionService.checkMemberAccess(classId, userId);
-        List<Assignment> assignments = assignmentRepository.findByClassEntityId(classId);
+        List<Assignment> assignments = assignmentRepository.findWithClassByClassId(classId);
+        
+        // All of the user's progress rows in the class in one query, matched to assignments in memory
+        Map<Long, StudentProgress> progressByAssignment = userId == null ? Map.of()
+            : progressRepository.findByClassIdAndStudentId(classId, userId).stream()
+                .collect(Collectors.toMap(p -> p.getAssignment().getId(), Function.identity(), (a, b) -> a));
+        
+        LocalDateTime now = LocalDateTime.now();
         return assignments.stream()
-            .map(a -> toResponse(a, userId))
+            .map(a -> toResponse(a, userId, progressByAssignment.get(a.getId()), now))
             .collect(Collectors.toList());
     }
     
+    /**
+     * Open, unsubmitted assignments across all of the user's classes, soonest due first
+     */
+    public List<AssignmentResponse> getUpcomingAssignments(Long userId, int limit) {
+        List<Long> assignmentIds = dueIndexService.getUpcoming(userId, limit);
+        if (assignmentIds.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Assignment> assignments = assignmentRepository.findWithClassByIdIn(assignmentIds).stream()
+            .collect(Collectors.toMap(Assignment::getId, Function.identity()));
+        Map<Long, StudentProgress> progressByAssignment = progressRepository
+            .findByStudentIdAndAssignmentIdIn(userId, assignmentIds).stream()
+            .collect(Collectors.toMap(p -> p.getAssignment().getId(), Function.identity(), (a, b) -> a));
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<AssignmentResponse> responses = new ArrayList<>();
+        for (Long assignmentId : assignmentIds) {
+            Assignment assignment = assignments.get(assignmentId);
+            StudentProgress progress = progressByAssignment.get(assignmentId);
+            if (assignment == null || (progress != null && "SUBMITTED".equals(progress.getStatus()))) {
+                // Deleted or already submitted: the index missed the update, drop the entry
+                dueIndexService.removeAssignment(userId, assignmentId);
+                continue;
+            }
+            responses.add(toResponse(assignment, userId, progress, now));
+        }
+        return responses;
+    }
+    
     public AssignmentResponse getAssignmentById(Long assignmentId, Long userId) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
             .orElseThrow(() -> new AppException(ErrorCode.ASSIGNMENT_NOT_FOUND));
@@ -122,19 +169,116 @@ public class AssignmentService {
     
     @Transactional
     public void syncProgressScore(Long progressId, Long attemptId, Integer score) {
-        StudentProgress progress = progressRepository.findById(progressId)
+        StudentProgress progress = progressRepository.findForUpdateById(progressId)
             .orElseThrow(() -> new AppException(ErrorCode.ASSIGNMENT_NOT_FOUND));
         
+        Integer previousScore = countedScore(progress);
+        
         progress.setAttemptId(attemptId);
         progress.setScore(score);
         progress.setStatus("SUBMITTED");
         progress.setLastUpdated(LocalDateTime.now());
         
         progressRepository.save(progress);
+        recordScoreChange(progress, previousScore, countedScore(progress));
+        dueIndexService.removeAssignment(progress.getStudentId(), progress.getAssignment().getId());
         
         log.info("Progress score synced: {} with score {}", progressId, score);
     }
 
+    /**
+     * Apply a batch of quiz submissions: rows are resolved by attempt id, then by (quizId, userId),
+     * and all score updates are written in one JDBC batch.
+     *
+     * @return number of progress rows updated
+     */
+    @Transactional
+    public int syncQuizSubmissions(List<QuizSubmission> submissions) {
+        Set<Long> attemptIds = submissions.stream()
+            .map(QuizSubmission::attemptId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, StudentProgress> progressByAttempt = attemptIds.isEmpty()
+            ? Collections.emptyMap()
+            : progressRepository.findByAttemptIdIn(attemptIds).stream()
+                .collect(Collectors.toMap(StudentProgress::getAttemptId, p -> p, (a, b) -> a));
+        
+        List<QuizSubmission> unresolved = submissions.stream()
+            .filter(sub -> !progressByAttempt.containsKey(sub.attemptId()))
+            .toList();
+        Map<String, List<StudentProgress>> progressByQuizAndStudent = new HashMap<>();
+        if (!unresolved.isEmpty()) {
+            Set<Long> quizIds = unresolved.stream().map(QuizSubmission::quizId).filter(Objects::nonNull).collect(Collectors.toSet());
+            Set<Long> userIds = unresolved.stream().map(QuizSubmission::userId).filter(Objects::nonNull).collect(Collectors.toSet());
+            if (!quizIds.isEmpty() && !userIds.isEmpty()) {
+                progressRepository.findByQuizIdInAndStudentIdIn(quizIds, userIds).forEach(p ->
+                    progressByQuizAndStudent
+                        .computeIfAbsent(p.getAssignment().getQuizId() + ":" + p.getStudentId(), k -> new ArrayList<>())
+                        .add(p));
+            }
+        }
+        
+        // Later events for the same progress row win
+        Map<Long, PendingScore> pending = new LinkedHashMap<>();
+        for (QuizSubmission submission : submissions) {
+            StudentProgress byAttempt = progressByAttempt.get(submission.attemptId());
+            List<StudentProgress> targets = byAttempt != null
+                ? List.of(byAttempt)
+                : progressByQuizAndStudent.getOrDefault(submission.quizId() + ":" + submission.userId(), List.of());
+            if (targets.isEmpty()) {
+                log.warn("No student progress found for quiz attempt {} (quiz {}, user {})",
+                    submission.attemptId(), submission.quizId(), submission.userId());
+            }
+            for (StudentProgress progress : targets) {
+                pending.put(progress.getId(), new PendingScore(progress, submission.attemptId(), submission.score()));
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        
+        // Consumers run concurrently and may carry events for the same rows: lock them in id order and read the
+        // score being replaced under the lock, so each delta is applied against the value it actually replaces
+        Map<Long, Integer> previousScores = lockCountedScores(pending.keySet().stream().sorted().toList());
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingScore> updates = pending.values().stream()
+            .filter(update -> previousScores.containsKey(update.progress().getId()))
+            .toList();
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+            "UPDATE student_progress SET attempt_id = ?, score = ?, status = 'SUBMITTED', last_updated = ?, updated_at = ? WHERE id = ?",
+            updates,
+            updates.size(),
+            (ps, update) -> {
+                ps.setObject(1, update.attemptId());
+                ps.setInt(2, update.score());
+                ps.setObject(3, now);
+                ps.setObject(4, now);
+                ps.setLong(5, update.progress().getId());
+            });
+        
+        // Group stats deltas per assignment and lock assignment rows in a stable order
+        Map<Long, List<AssignmentStatsService.ScoreChange>> changesByAssignment = new TreeMap<>();
+        for (PendingScore update : updates) {
+            StudentProgress progress = update.progress();
+            Integer previousScore = previousScores.get(progress.getId());
+            changesByAssignment
+                .computeIfAbsent(progress.getAssignment().getId(), k -> new ArrayList<>())
+                .add(new AssignmentStatsService.ScoreChange(previousScore, update.score()));
+            if (!Objects.equals(previousScore, update.score())) {
+                leaderboardIndexService.refreshStudent(progress.getAssignment().getClassEntity().getId(), progress.getStudentId());
+            }
+            dueIndexService.removeAssignment(progress.getStudentId(), progress.getAssignment().getId());
+        }
+        changesByAssignment.forEach(assignmentStatsService::recordScoreChanges);
+        
+        log.info("Synced {} progress scores from {} quiz submissions", updates.size(), submissions.size());
+        return updates.size();
+    }
+
     @Transactional
     public void submitAssignment(Long assignmentId, Long userId, SubmitAssignmentRequest request) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
@@ -143,9 +287,11 @@ public class AssignmentService {
         permissionService.checkMemberAccess(assignment.getClassEntity().getId(), userId);
 
         StudentProgress progress = progressRepository
-            .findByAssignmentIdAndStudentId(assignmentId, userId)
+            .findForUpdateByAssignmentIdAndStudentId(assignmentId, userId)
             .orElseThrow(() -> new AppException(ErrorCode.ASSIGNMENT_NOT_FOUND));
 
+        Integer previousScore = countedScore(progress);
+
         progress.setStatus("SUBMITTED");
         progress.setLastUpdated(LocalDateTime.now());
 
@@ -159,6 +305,8 @@ public class AssignmentService {
         }
 
         progressRepository.save(progress);
+        recordScoreChange(progress, previousScore, countedScore(progress));
+        dueIndexService.removeAssignment(userId, assignmentId);
         log.info("Assignment submitted: {} by user: {}", assignmentId, userId);
     }
     
@@ -172,42 +320,79 @@ public class AssignmentService {
         // Delete all related student progress
         List<StudentProgress> progressList = progressRepository.findByAssignmentId(assignmentId);
         progressRepository.deleteAll(progressList);
+        assignmentStatsService.delete(assignmentId);
         
         // Delete the assignment
         assignmentRepository.delete(assignment);
+        classRepository.adjustAssignmentCount(assignment.getClassEntity().getId(), -1);
+        leaderboardIndexService.invalidate(assignment.getClassEntity().getId());
         
         log.info("Assignment deleted: {} by user: {}", assignmentId, userId);
     }
     
-    private void notifyStudentsAboutNewAssignment(Long classId, Assignment assignment) {
-        List<ClassMember> students = classMemberRepository.findByClassEntityIdAndRole(classId, ClassRole.STUDENT);
-        
-        students.forEach(student -> {
-            notificationServiceClient.sendAssignmentNotification(
-                student.getUserId(),
-                null,
-                assignment.getTitle(),
-                assignment.getClassEntity().getName(),
-                assignment.getDueTime()
-            );
-        });
+    /**
+     * Propagate a score change to assignment_stats and the leaderboard index.
+     * Scores are the counted values (SUBMITTED with a score) or null when the row is not counted.
+     */
+    private void recordScoreChange(StudentProgress progress, Integer previousScore, Integer newScore) {
+        assignmentStatsService.recordScoreChange(progress.getAssignment().getId(), previousScore, newScore);
+        if (!Objects.equals(previousScore, newScore)) {
+            leaderboardIndexService.refreshStudent(progress.getAssignment().getClassEntity().getId(), progress.getStudentId());
+        }
+    }
+    
+    /**
+     * Lock progress rows (SELECT ... FOR UPDATE, in the given order) and read their counted scores.
+     * Rows deleted in the meantime are absent from the result.
+     */
+    private Map<Long, Integer> lockCountedScores(List<Long> progressIds) {
+        String placeholders = String.join(", ", Collections.nCopies(progressIds.size(), "?"));
+        Map<Long, Integer> scores = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT id, status, score FROM student_progress WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+            (RowCallbackHandler) rs -> {
+                Integer score = rs.getObject("score", Integer.class);
+                scores.put(rs.getLong("id"), "SUBMITTED".equals(rs.getString("status")) ? score : null);
+            },
+            progressIds.toArray());
+        return scores;
+    }
+    
+    private Integer countedScore(StudentProgress progress) {
+        return "SUBMITTED".equals(progress.getStatus()) ? progress.getScore() : null;
+    }
+    
+    /**
+     * Queue the new-assignment notifications in the outbox; the relay publishes them after commit
+     */
+    private void notifyStudentsAboutNewAssignment(List<Long> studentIds, Assignment assignment) {
+        outboxService.enqueueNotifications("quiz_assigned", studentIds, Map.of(
+            "assignmentId", assignment.getId(),
+            "assignmentTitle", assignment.getTitle(),
+            "className", assignment.getClassEntity().getName(),
+            "deadline", assignment.getDueTime().toString(),
+            "type", "quiz_assigned"
+        ));
     }
     
     private AssignmentResponse toResponse(Assignment assignment, Long userId) {
+        StudentProgress progress = userId == null ? null : progressRepository
+            .findByAssignmentIdAndStudentId(assignment.getId(), userId)
+            .orElse(null);
+        return toResponse(assignment, userId, progress, LocalDateTime.now());
+    }
+    
+    private AssignmentResponse toResponse(Assignment assignment, Long userId, StudentProgress progress, LocalDateTime now) {
         String userStatus = "NOT_STARTED";
         Integer userAttemptCount = 0;
         
         if (userId != null) {
-            StudentProgress progress = progressRepository
-                .findByAssignmentIdAndStudentId(assignment.getId(), userId)
-                .orElse(null);
-            
             if (progress != null) {
                 userStatus = progress.getStatus();
                 userAttemptCount = progress.getAttemptId() != null ? 1 : 0;
             } else {
                 // Check if overdue
-                if (LocalDateTime.now().isAfter(assignment.getDueTime())) {
+                if (now.isAfter(assignment.getDueTime())) {
                     userStatus = "OVERDUE";
                 }
             }
@@ -233,6 +418,10 @@ public class AssignmentService {
             .build();
     }
     
+    private record PendingScore(StudentProgress progress, Long attemptId, int score) {}
+    
+    public record QuizSubmission(Long attemptId, Long quizId, Long userId, Integer score) {}
+    
     private com.example.class_assignment_service.model.enums.AssignmentStatus convertStatus(String status) {
         try {
             return com.example.class_assignment_service.model.enums.AssignmentStatus.valueOf(status);
@@ -0,0 +1,206 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.AssignmentStats;
+import com.example.class_assignment_service.repository.AssignmentStatsRepository;
+import com.example.class_assignment_service.repository.ReportingRepository;
+import com.example.class_assignment_service.repository.projection.ScoreFrequencyView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the assignment_stats materialization: count, sum, sum of squares, min, max
+ * and a fixed-bucket histogram of submitted scores per assignment.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssignmentStatsService {
+
+    private final AssignmentStatsRepository statsRepository;
+    private final ReportingRepository reportingRepository;
+
+    @Transactional
+    public void createEmpty(Long assignmentId) {
+        statsRepository.save(AssignmentStats.builder()
+            .assignmentId(assignmentId)
+            .build());
+    }
+
+    @Transactional
+    public void delete(Long assignmentId) {
+        statsRepository.deleteByAssignmentId(assignmentId);
+    }
+
+    /**
+     * Apply a score change in the caller's transaction.
+     *
+     * @param previousScore counted score before the change, or null if the row was not counted
+     * @param newScore      counted score after the change, or null if the row is no longer counted
+     */
+    @Transactional
+    public void recordScoreChange(Long assignmentId, Integer previousScore, Integer newScore) {
+        recordScoreChanges(assignmentId, List.of(new ScoreChange(previousScore, newScore)));
+    }
+
+    /**
+     * Apply several score changes of one assignment under a single row lock
+     */
+    @Transactional
+    public void recordScoreChanges(Long assignmentId, List<ScoreChange> changes) {
+        List<ScoreChange> effective = changes.stream()
+            .filter(change -> !Objects.equals(change.previousScore(), change.newScore()))
+            .toList();
+        if (effective.isEmpty()) {
+            return;
+        }
+
+        Optional<AssignmentStats> locked = statsRepository.findForUpdateByAssignmentId(assignmentId);
+        if (locked.isEmpty()) {
+            if (statsRepository.insertIfAbsent(assignmentId, LocalDateTime.now()) == 1) {
+                // Assignment predates the stats table: materialize it from the rows, which already include these changes
+                AssignmentStats created = statsRepository.findForUpdateByAssignmentId(assignmentId).orElseThrow();
+                statsRepository.save(rebuild(assignmentId, created));
+                return;
+            }
+            // Materialized concurrently; that rebuild could not see these uncommitted changes, so apply them as deltas
+            locked = statsRepository.findForUpdateByAssignmentId(assignmentId);
+        }
+
+        AssignmentStats stats = locked.orElseThrow();
+        int[] histogram = stats.getHistogram().clone();
+        boolean extremesStale = false;
+
+        for (ScoreChange change : effective) {
+            Integer previousScore = change.previousScore();
+            Integer newScore = change.newScore();
+
+            if (previousScore != null) {
+                stats.setSubmissionCount(stats.getSubmissionCount() - 1);
+                stats.setScoreSum(stats.getScoreSum() - previousScore);
+                stats.setScoreSumSquares(stats.getScoreSumSquares() - (long) previousScore * previousScore);
+                histogram[AssignmentStats.bucketOf(previousScore)]--;
+                extremesStale |= previousScore.equals(stats.getMinScore()) || previousScore.equals(stats.getMaxScore());
+            }
+
+            if (newScore != null) {
+                stats.setSubmissionCount(stats.getSubmissionCount() + 1);
+                stats.setScoreSum(stats.getScoreSum() + newScore);
+                stats.setScoreSumSquares(stats.getScoreSumSquares() + (long) newScore * newScore);
+                histogram[AssignmentStats.bucketOf(newScore)]++;
+                stats.setMinScore(stats.getMinScore() == null ? newScore : Math.min(stats.getMinScore(), newScore));
+                stats.setMaxScore(stats.getMaxScore() == null ? newScore : Math.max(stats.getMaxScore(), newScore));
+            }
+        }
+        stats.setHistogram(histogram);
+
+        if (extremesStale) {
+            // A removed score was an extreme; min/max cannot be derived from the running sums
+            rebuild(assignmentId, stats);
+        }
+
+        statsRepository.save(stats);
+    }
+
+    /**
+     * Stats for the given assignments; missing rows are rebuilt from student_progress in one query
+     */
+    @Transactional
+    public Map<Long, AssignmentStats> getStats(Collection<Long> assignmentIds) {
+        if (assignmentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, AssignmentStats> statsByAssignment = statsRepository.findByAssignmentIdIn(assignmentIds)
+            .stream()
+            .collect(Collectors.toMap(AssignmentStats::getAssignmentId, Function.identity()));
+
+        List<Long> missing = assignmentIds.stream()
+            .filter(id -> !statsByAssignment.containsKey(id))
+            .toList();
+        if (!missing.isEmpty()) {
+            Map<Long, List<ScoreFrequencyView>> frequencies = reportingRepository
+                .findScoreFrequenciesByAssignmentIds(missing)
+                .stream()
+                .collect(Collectors.groupingBy(ScoreFrequencyView::assignmentId));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> materializedElsewhere = new ArrayList<>();
+            for (Long assignmentId : missing) {
+                if (statsRepository.insertIfAbsent(assignmentId, now) == 0) {
+                    materializedElsewhere.add(assignmentId);
+                    continue;
+                }
+                AssignmentStats stats = statsRepository.findForUpdateByAssignmentId(assignmentId).orElseThrow();
+                apply(stats, frequencies.getOrDefault(assignmentId, Collections.emptyList()));
+                statsByAssignment.put(assignmentId, statsRepository.save(stats));
+            }
+            // The conflicting insert only returns once the other transaction committed its row
+            if (!materializedElsewhere.isEmpty()) {
+                statsRepository.findByAssignmentIdIn(materializedElsewhere)
+                    .forEach(s -> statsByAssignment.put(s.getAssignmentId(), s));
+            }
+            log.info("Materialized assignment stats for {} assignments", missing.size() - materializedElsewhere.size());
+        }
+
+        return statsByAssignment;
+    }
+
+    public static double average(AssignmentStats stats) {
+        return stats.getSubmissionCount() > 0 ? (double) stats.getScoreSum() / stats.getSubmissionCount() : 0.0;
+    }
+
+    /**
+     * Population standard deviation from the running sums
+     */
+    public static double standardDeviation(AssignmentStats stats) {
+        long n = stats.getSubmissionCount();
+        if (n == 0) {
+            return 0.0;
+        }
+        double mean = (double) stats.getScoreSum() / n;
+        double variance = (double) stats.getScoreSumSquares() / n - mean * mean;
+        return Math.sqrt(Math.max(variance, 0.0));
+    }
+
+    private AssignmentStats rebuild(Long assignmentId, AssignmentStats stats) {
+        stats.setAssignmentId(assignmentId);
+        apply(stats, reportingRepository.findScoreFrequenciesByAssignmentIds(List.of(assignmentId)));
+        return stats;
+    }
+
+    private void apply(AssignmentStats stats, List<ScoreFrequencyView> frequencies) {
+        long count = 0;
+        long sum = 0;
+        long sumSquares = 0;
+        Integer min = null;
+        Integer max = null;
+        int[] histogram = new int[AssignmentStats.BUCKET_COUNT];
+
+        for (ScoreFrequencyView frequency : frequencies) {
+            int score = frequency.score();
+            long n = frequency.frequency();
+            count += n;
+            sum += n * score;
+            sumSquares += n * score * score;
+            min = min == null ? score : Math.min(min, score);
+            max = max == null ? score : Math.max(max, score);
+            histogram[AssignmentStats.bucketOf(score)] += (int) n;
+        }
+
+        stats.setSubmissionCount(count);
+        stats.setScoreSum(sum);
+        stats.setScoreSumSquares(sumSquares);
+        stats.setMinScore(min);
+        stats.setMaxScore(max);
+        stats.setHistogram(histogram);
+    }
+
+    public record ScoreChange(Integer previousScore, Integer newScore) {}
+}
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,6 +29,9 @@ public class ClassMemberService {
     private final ClassRepository classRepository;
     private final PermissionService permissionService;
     private final UserServiceClient userServiceClient;
+    private final LeaderboardIndexService leaderboardIndexService;
+    private final MembershipCacheService membershipCacheService;
+    private final DueIndexService dueIndexService;
     
     @Transactional
     public ClassMemberResponse addMember(Long classId, AddMemberRequest request, Long userId) {
@@ -48,6 +52,12 @@ public class ClassMemberService {
             .build();
         
         member = classMemberRepository.save(member);
+        classRepository.adjustMemberCount(classId, 1);
+        membershipCacheService.invalidate(classId, member.getUserId());
+        dueIndexService.invalidate(member.getUserId());
+        if (member.getRole() == ClassRole.STUDENT) {
+            leaderboardIndexService.refreshStudent(classId, member.getUserId());
+        }
         log.info("Member added to class {}: user {} with role {}", classId, request.getUserId(), request.getRole());
         return toResponse(member);
     }
@@ -55,7 +65,11 @@ public class ClassMemberService {
     public List<ClassMemberResponse> getClassMembers(Long classId, Long userId) {
         permissionService.checkMemberAccess(classId, userId);
         List<ClassMember> members = classMemberRepository.findByClassEntityId(classId);
-        return members.stream().map(this::toResponse).collect(Collectors.toList());
+        Map<Long, String> userNames = userServiceClient.getUserNamesByIds(
+            members.stream().map(ClassMember::getUserId).toList());
+        return members.stream()
+            .map(member -> toResponse(member, userNames.get(member.getUserId())))
+            .collect(Collectors.toList());
     }
     
     @Transactional
@@ -78,8 +92,14 @@ public class ClassMemberService {
             }
         }
         
+        ClassRole previousRole = member.getRole();
         member.setRole(newRole);
         member = classMemberRepository.save(member);
+        membershipCacheService.invalidate(classId, member.getUserId());
+        dueIndexService.invalidate(member.getUserId());
+        if ((previousRole == ClassRole.STUDENT) != (newRole == ClassRole.STUDENT)) {
+            leaderboardIndexService.refreshStudent(classId, member.getUserId());
+        }
         log.info("Member role updated: {} in class {} by user {}", memberId, classId, userId);
         return toResponse(member);
     }
@@ -104,11 +124,20 @@ public class ClassMemberService {
         }
         
         classMemberRepository.delete(member);
+        classRepository.adjustMemberCount(classId, -1);
+        membershipCacheService.invalidate(classId, member.getUserId());
+        dueIndexService.invalidate(member.getUserId());
+        if (member.getRole() == ClassRole.STUDENT) {
+            leaderboardIndexService.refreshStudent(classId, member.getUserId());
+        }
         log.info("Member removed: {} from class {} by user {}", memberId, classId, userId);
     }
     
     private ClassMemberResponse toResponse(ClassMember member) {
-        String userName = userServiceClient.getUserNameById(member.getUserId());
+        return toResponse(member, userServiceClient.getUserNameById(member.getUserId()));
+    }
+    
+    private ClassMemberResponse toResponse(ClassMember member, String userName) {
         return ClassMemberResponse.builder()
             .id(member.getId())
             .classId(member.getClassEntity().getId())
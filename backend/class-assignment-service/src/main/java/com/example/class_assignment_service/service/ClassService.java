@@ -6,12 +6,15 @@ import com.example.class_assignment_service.dto.response.ClassResponse;
 import com.example.class_assignment_service.model.ClassEntity;
 import com.example.class_assignment_service.model.ClassMember;
 import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.model.enums.ClassStatus;
 import com.example.class_assignment_service.repository.ClassMemberRepository;
 import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.projection.MyClassView;
 import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,9 @@ public class ClassService {
     private final ClassRepository classRepository;
     private final ClassMemberRepository classMemberRepository;
     private final PermissionService permissionService;
+    private final MembershipCacheService membershipCacheService;
+    private final DueIndexService dueIndexService;
+    private final LeaderboardIndexService leaderboardIndexService;
     
     @Transactional
     public ClassResponse createClass(CreateClassRequest request, Long userId) {
@@ -38,6 +44,7 @@ public class ClassService {
             .status("ACTIVE")
             .teacherId(userId)
             .invitationCode(generateInvitationCode())
+            .memberCount(1) // the creator, added below
             .build();
         
         classEntity = classRepository.save(classEntity);
@@ -50,6 +57,7 @@ public class ClassService {
             .joinedAt(java.time.LocalDateTime.now())
             .build();
         classMemberRepository.save(teacher);
+        membershipCacheService.invalidate(classEntity.getId(), userId);
         
         log.info("Class created: {} by user: {}", classEntity.getId(), userId);
         return toResponse(classEntity, userId);
@@ -86,50 +94,17 @@ public class ClassService {
         return toResponse(classEntity, userId);
     }
     
-    public List<ClassResponse> getClassesByUser(Long userId, String role) {
-        log.info("Getting classes for user: {}, role: {}", userId, role);
-        
-        List<ClassEntity> classes;
-        if (role != null && !role.isEmpty()) {
-            classes = classRepository.findByUserIdAndRole(userId, role);
-            log.info("Found {} classes with role filter: {}", classes.size(), role);
-        } else {
-            // Get classes where user is teacher (by teacher_id column)
-            List<ClassEntity> teacherClasses = classRepository.findByTeacherId(userId);
-            log.info("Found {} classes where user is teacher (teacher_id={})", teacherClasses.size(), userId);
-            if (!teacherClasses.isEmpty()) {
-                log.info("Teacher class IDs: {}", teacherClasses.stream().map(ClassEntity::getId).collect(Collectors.toList()));
-            }
-            
-            // Get classes where user is a member (in class_members table)
-            List<ClassEntity> memberClasses = classRepository.findByUserId(userId);
-            log.info("Found {} classes where user is a member", memberClasses.size());
-            if (!memberClasses.isEmpty()) {
-                log.info("Member class IDs: {}", memberClasses.stream().map(ClassEntity::getId).collect(Collectors.toList()));
-            }
-            
-            // Merge and remove duplicates by ID
-            java.util.Set<Long> allClassIds = new java.util.HashSet<>();
-            classes = new java.util.ArrayList<>();
-            
-            // Add teacher classes
-            for (ClassEntity c : teacherClasses) {
-                if (allClassIds.add(c.getId())) {
-                    classes.add(c);
-                    log.info("Added teacher class: id={}, name={}", c.getId(), c.getName());
-                }
-            }
-            
-            // Add member classes (skip if already added as teacher)
-            for (ClassEntity c : memberClasses) {
-                if (allClassIds.add(c.getId())) {
-                    classes.add(c);
-                    log.info("Added member class: id={}, name={}", c.getId(), c.getName());
-                }
-            }
-            
-            log.info("Total unique classes: {}", classes.size());
-        }
+    /**
+     * Classes of a user in one query, newest first.
+     *
+     * @param beforeId keyset cursor: id of the last class of the previous page, or null for the first page
+     * @param limit    maximum number of classes, or null for all of them
+     */
+    public List<ClassResponse> getClassesByUser(Long userId, String role, Long beforeId, Integer limit) {
+        String roleFilter = role != null && !role.isEmpty() ? role : null;
+        List<MyClassView> classes = classRepository.findClassViewsByUser(userId, roleFilter, beforeId,
+            limit != null ? Limit.of(limit) : Limit.unlimited());
+        log.debug("Found {} classes for user {} (role filter: {})", classes.size(), userId, roleFilter);
         
         return classes.stream().map(c -> toResponse(c, userId)).collect(Collectors.toList());
     }
@@ -139,6 +114,7 @@ public class ClassService {
         ClassEntity classEntity = getClassById(classId);
         permissionService.checkTeacher(classId, userId);
         classRepository.delete(classEntity);
+        membershipCacheService.invalidateClass(classId);
         log.info("Class deleted: {} by user: {}", classId, userId);
     }
     
@@ -170,6 +146,11 @@ public class ClassService {
             .joinedAt(java.time.LocalDateTime.now())
             .build();
         classMemberRepository.save(member);
+        classRepository.adjustMemberCount(classEntity.getId(), 1);
+        classEntity.setMemberCount(classEntity.getMemberCount() + 1);
+        membershipCacheService.invalidate(classEntity.getId(), userId);
+        dueIndexService.invalidate(userId);
+        leaderboardIndexService.refreshStudent(classEntity.getId(), userId);
         
         log.info("User {} joined class {} via invitation code", userId, classEntity.getId());
         return toResponse(classEntity, userId);
@@ -184,14 +165,7 @@ public class ClassService {
         return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
-    private ClassResponse toResponse(ClassEntity classEntity) {
-        return toResponse(classEntity, null);
-    }
-    
     private ClassResponse toResponse(ClassEntity classEntity, Long userId) {
-        Integer memberCount = classMemberRepository.countByClassIdAndRole(classEntity.getId(), ClassRole.STUDENT).intValue() +
-            classMemberRepository.countByClassIdAndRole(classEntity.getId(), ClassRole.TEACHER).intValue();
-        
         String userRole = null;
         if (userId != null) {
             // Check if user is teacher (by teacher_id)
@@ -199,9 +173,9 @@ public class ClassService {
                 userRole = "TEACHER";
             } else {
                 // Check if user is member
-                Optional<ClassMember> memberOpt = classMemberRepository.findByClassEntityIdAndUserId(classEntity.getId(), userId);
-                if (memberOpt.isPresent()) {
-                    userRole = memberOpt.get().getRole().name();
+                Optional<ClassRole> roleOpt = permissionService.findMemberRole(classEntity.getId(), userId);
+                if (roleOpt.isPresent()) {
+                    userRole = roleOpt.get().name();
                 }
             }
         }
@@ -211,17 +185,41 @@ public class ClassService {
             .name(classEntity.getName())
             .description(classEntity.getDescription())
             .subject(classEntity.getTopic())
-            .status(classEntity.getStatus() != null ? 
-                com.example.class_assignment_service.model.enums.ClassStatus.valueOf(classEntity.getStatus()) : 
-                com.example.class_assignment_service.model.enums.ClassStatus.ACTIVE)
+            .status(toStatus(classEntity.getStatus()))
             .invitationCode(classEntity.getInvitationCode())
             .invitationLink("/join/" + classEntity.getInvitationCode())
             .createdBy(classEntity.getTeacherId())
             .createdAt(classEntity.getCreatedAt())
             .updatedAt(classEntity.getUpdatedAt())
-            .memberCount(memberCount)
-            .assignmentCount(classEntity.getAssignments() != null ? classEntity.getAssignments().size() : 0)
+            .memberCount(classEntity.getMemberCount())
+            .assignmentCount(classEntity.getAssignmentCount())
+            .userRole(userRole)
+            .build();
+    }
+    
+    private ClassResponse toResponse(MyClassView view, Long userId) {
+        // A teacher_id match wins over the membership row, as in toResponse(ClassEntity, Long)
+        String userRole = userId.equals(view.teacherId()) ? "TEACHER"
+            : view.memberRole() != null ? view.memberRole().name() : null;
+        
+        return ClassResponse.builder()
+            .id(view.id())
+            .name(view.name())
+            .description(view.description())
+            .subject(view.topic())
+            .status(toStatus(view.status()))
+            .invitationCode(view.invitationCode())
+            .invitationLink("/join/" + view.invitationCode())
+            .createdBy(view.teacherId())
+            .createdAt(view.createdAt())
+            .updatedAt(view.updatedAt())
+            .memberCount(view.memberCount())
+            .assignmentCount(view.assignmentCount())
             .userRole(userRole)
             .build();
     }
+    
+    private static ClassStatus toStatus(String status) {
+        return status != null ? ClassStatus.valueOf(status) : ClassStatus.ACTIVE;
+    }
 }
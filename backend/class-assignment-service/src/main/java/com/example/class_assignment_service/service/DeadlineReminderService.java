@@ -0,0 +1,89 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.repository.ClassMemberRepository;
+import com.example.class_assignment_service.repository.ReminderDispatchRepository;
+import com.example.class_assignment_service.repository.projection.DueAssignmentView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claims and sends deadline reminders. Each (assignment, offset, due time) is sent at most once:
+ * an instance first takes a short DB lease on it, then enqueues the notifications and marks it SENT
+ * in one transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadlineReminderService {
+    
+    private static final String EVENT_TYPE = "deadline_reminder";
+    
+    private final ReminderDispatchRepository reminderDispatchRepository;
+    private final ClassMemberRepository classMemberRepository;
+    private final OutboxService outboxService;
+    
+    public List<DueAssignmentView> findPending(LocalDateTime from, LocalDateTime to, Duration offset, int limit) {
+        return reminderDispatchRepository.findPendingInWindow(from, to, (int) offset.toMinutes(),
+            LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+    
+    @Transactional
+    public boolean claim(DueAssignmentView assignment, Duration offset, String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        int offsetMinutes = (int) offset.toMinutes();
+        return reminderDispatchRepository.insertClaim(assignment.assignmentId(), offsetMinutes,
+                assignment.dueTime(), owner, now.plus(lease), now) == 1
+            || reminderDispatchRepository.takeOverExpired(assignment.assignmentId(), offsetMinutes,
+                assignment.dueTime(), owner, now.plus(lease), now) == 1;
+    }
+    
+    /**
+     * Queue a reminder for every student who has not submitted
+     *
+     * @return number of reminders queued, or -1 if the lease was lost to another instance
+     */
+    @Transactional
+    public int send(DueAssignmentView assignment, Duration offset, String owner) {
+        List<Long> studentIds = classMemberRepository.findUserIdsWithoutSubmission(
+            assignment.classId(), ClassRole.STUDENT, assignment.assignmentId());
+        
+        // Marking first locks the dispatch row, so an instance taking over an expired lease waits and then sees SENT
+        LocalDateTime now = LocalDateTime.now();
+        int marked = reminderDispatchRepository.markSent(assignment.assignmentId(), (int) offset.toMinutes(),
+            assignment.dueTime(), owner, studentIds.size(), now);
+        if (marked == 0) {
+            log.warn("Lost reminder lease for assignment {} ({} before deadline)", assignment.assignmentId(), offset);
+            return -1;
+        }
+        
+        outboxService.enqueueNotifications(EVENT_TYPE, studentIds, Map.of(
+            "assignmentId", assignment.assignmentId(),
+            "assignmentTitle", assignment.title(),
+            "className", assignment.className(),
+            "deadline", assignment.dueTime().toString(),
+            "hoursLeft", hoursLeft(now, assignment.dueTime()),
+            "type", EVENT_TYPE
+        ));
+        return studentIds.size();
+    }
+    
+    // The offset only picks the window: an assignment created 3h before its deadline is reminded in the 24h window
+    static long hoursLeft(LocalDateTime now, LocalDateTime dueTime) {
+        long minutes = Math.max(0, Duration.between(now, dueTime).toMinutes());
+        return (minutes + 59) / 60;
+    }
+    
+    @Transactional
+    public int purgeBefore(LocalDateTime before) {
+        return reminderDispatchRepository.deleteByDueTimeBefore(before);
+    }
+}
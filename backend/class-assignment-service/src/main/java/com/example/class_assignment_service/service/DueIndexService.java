@@ -0,0 +1,251 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.projection.UpcomingAssignmentView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Per-student "what's due" index: a Redis sorted set of open, unsubmitted assignment ids scored by due time.
+ * Assignment creation adds to the built indexes of the class's students, submissions remove from it and
+ * membership changes drop the student's index so the next read rebuilds it from one SQL query.
+ * Adds and removals that arrive while an index is being built are buffered and replayed onto the snapshot,
+ * so an assignment committed after the snapshot query is not lost until the TTL.
+ * Reads fall back to that query when Redis is unavailable.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DueIndexService {
+
+    private static final String KEY_PREFIX = "due:";
+    private static final int STUDENTS_PER_SCRIPT = 500;
+    private static final Duration BUILD_TIMEOUT = Duration.ofSeconds(30);
+
+    // KEYS come in (index, ready, building, added) groups. Built indexes get the assignment with the ready key's TTL,
+    // indexes being built buffer it. ARGV: due score, assignment id
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+        "local added = 0 " +
+        "for i = 1, #KEYS, 4 do " +
+        "  local ttl = redis.call('PTTL', KEYS[i + 1]) " +
+        "  local target = KEYS[i] " +
+        "  if ttl <= 0 then " +
+        "    ttl = redis.call('PTTL', KEYS[i + 2]) " +
+        "    target = KEYS[i + 3] " +
+        "  end " +
+        "  if ttl > 0 then " +
+        "    redis.call('ZADD', target, ARGV[1], ARGV[2]) " +
+        "    redis.call('PEXPIRE', target, ttl) " +
+        "    added = added + 1 " +
+        "  end " +
+        "end " +
+        "return added",
+        Long.class);
+
+    // KEYS: index, building, removed. ARGV: assignment id
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+        "local ttl = redis.call('PTTL', KEYS[2]) " +
+        "if ttl > 0 then " +
+        "  redis.call('SADD', KEYS[3], ARGV[1]) " +
+        "  redis.call('PEXPIRE', KEYS[3], ttl) " +
+        "end " +
+        "return 1",
+        Long.class);
+
+    // KEYS: building, added, removed. ARGV: build token, build timeout
+    private static final RedisScript<Long> START_BUILD_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+        "redis.call('DEL', KEYS[2], KEYS[3]) " +
+        "return 1",
+        Long.class);
+
+    // KEYS: index, ready, building, added, removed. ARGV: build token, ttl, then (score, assignment id) pairs.
+    // A build superseded by another build or an invalidation writes nothing
+    private static final RedisScript<Long> FINISH_BUILD_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[3]) ~= ARGV[1] then return 0 end " +
+        "redis.call('DEL', KEYS[1]) " +
+        "for i = 3, #ARGV, 2 do " +
+        "  redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+        "end " +
+        "local added = redis.call('ZRANGE', KEYS[4], 0, -1, 'WITHSCORES') " +
+        "for i = 1, #added, 2 do " +
+        "  redis.call('ZADD', KEYS[1], added[i + 1], added[i]) " +
+        "end " +
+        "for _, id in ipairs(redis.call('SMEMBERS', KEYS[5])) do " +
+        "  redis.call('ZREM', KEYS[1], id) " +
+        "end " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+        "redis.call('SET', KEYS[2], '1', 'PX', ARGV[2]) " +
+        "redis.call('DEL', KEYS[3], KEYS[4], KEYS[5]) " +
+        "return 1",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AssignmentRepository assignmentRepository;
+
+    // Built indexes expire so that drift from missed updates heals on its own
+    @Value("${app.due-index.ttl:24h}")
+    private Duration ttl;
+
+    /**
+     * Ids of the student's open, unsubmitted assignments, soonest due first
+     */
+    public List<Long> getUpcoming(Long studentId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            if (!ensureBuilt(studentId, now)) {
+                return fromDatabase(studentId, now, limit);
+            }
+            String key = indexKey(studentId);
+            // Entries whose due time has passed are no longer upcoming
+            redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, toScore(now) - 1);
+            Set<String> ids = redisTemplate.opsForZSet().rangeByScore(key, toScore(now), Double.POSITIVE_INFINITY, 0, limit);
+            return ids == null ? List.of() : ids.stream().map(Long::valueOf).toList();
+        } catch (DataAccessException e) {
+            log.warn("Due index unavailable for student {}, reading from the database: {}", studentId, e.getMessage());
+            return fromDatabase(studentId, now, limit);
+        }
+    }
+
+    /**
+     * Add a new assignment to the built indexes of the given students. Deferred until after commit.
+     */
+    public void addAssignment(Long assignmentId, LocalDateTime dueTime, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        List<Long> students = List.copyOf(studentIds);
+        runAfterCommit(() -> {
+            try {
+                for (int from = 0; from < students.size(); from += STUDENTS_PER_SCRIPT) {
+                    List<String> keys = new ArrayList<>();
+                    for (Long studentId : students.subList(from, Math.min(from + STUDENTS_PER_SCRIPT, students.size()))) {
+                        keys.add(indexKey(studentId));
+                        keys.add(readyKey(studentId));
+                        keys.add(buildingKey(studentId));
+                        keys.add(addedKey(studentId));
+                    }
+                    redisTemplate.execute(ADD_SCRIPT, keys, String.valueOf(toScore(dueTime)), String.valueOf(assignmentId));
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to add assignment {} to due indexes: {}", assignmentId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Drop an assignment from a student's index once it has been submitted. Deferred until after commit.
+     */
+    public void removeAssignment(Long studentId, Long assignmentId) {
+        runAfterCommit(() -> {
+            try {
+                redisTemplate.execute(REMOVE_SCRIPT,
+                    List.of(indexKey(studentId), buildingKey(studentId), removedKey(studentId)), String.valueOf(assignmentId));
+            } catch (DataAccessException e) {
+                log.warn("Failed to remove assignment {} from due index of student {}: {}", assignmentId, studentId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Discard a student's index (joined, left or changed role in a class); the next read rebuilds it
+     */
+    public void invalidate(Long studentId) {
+        runAfterCommit(() -> {
+            try {
+                redisTemplate.delete(List.of(readyKey(studentId), indexKey(studentId),
+                    buildingKey(studentId), addedKey(studentId), removedKey(studentId)));
+            } catch (DataAccessException e) {
+                log.warn("Failed to invalidate due index of student {}: {}", studentId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Build the index unless it is ready. Returns false when another build or an invalidation superseded this one.
+     */
+    private boolean ensureBuilt(Long studentId, LocalDateTime now) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(readyKey(studentId)))) {
+            return true;
+        }
+
+        // Mark the build before the snapshot query, so anything committed after it is buffered
+        String token = UUID.randomUUID().toString();
+        redisTemplate.execute(START_BUILD_SCRIPT,
+            List.of(buildingKey(studentId), addedKey(studentId), removedKey(studentId)),
+            token, String.valueOf(BUILD_TIMEOUT.toMillis()));
+
+        List<String> args = new ArrayList<>();
+        args.add(token);
+        args.add(String.valueOf(ttl.toMillis()));
+        List<UpcomingAssignmentView> views = assignmentRepository.findUpcomingForStudent(studentId, now, Limit.unlimited());
+        for (UpcomingAssignmentView view : views) {
+            args.add(String.valueOf(toScore(view.dueTime())));
+            args.add(String.valueOf(view.assignmentId()));
+        }
+
+        Long built = redisTemplate.execute(FINISH_BUILD_SCRIPT,
+            List.of(indexKey(studentId), readyKey(studentId), buildingKey(studentId), addedKey(studentId), removedKey(studentId)),
+            args.toArray());
+        log.debug("Due index rebuilt for student {} with {} assignments", studentId, views.size());
+        return built != null && built == 1L;
+    }
+
+    private List<Long> fromDatabase(Long studentId, LocalDateTime now, int limit) {
+        return assignmentRepository.findUpcomingForStudent(studentId, now, Limit.of(limit)).stream()
+            .map(UpcomingAssignmentView::assignmentId)
+            .toList();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toScore(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String indexKey(Long studentId) {
+        return KEY_PREFIX + studentId;
+    }
+
+    private static String readyKey(Long studentId) {
+        return KEY_PREFIX + studentId + ":ready";
+    }
+
+    private static String buildingKey(Long studentId) {
+        return KEY_PREFIX + studentId + ":building";
+    }
+
+    private static String addedKey(Long studentId) {
+        return KEY_PREFIX + studentId + ":added";
+    }
+
+    private static String removedKey(Long studentId) {
+        return KEY_PREFIX + studentId + ":removed";
+    }
+}
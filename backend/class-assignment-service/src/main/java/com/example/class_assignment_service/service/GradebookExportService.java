@@ -0,0 +1,208 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.exception.AppException;
+import com.example.class_assignment_service.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a student x assignment grade matrix as XLSX.
+ * Rows are read through a forward-only cursor and written through an SXSSF window,
+ * so memory stays flat regardless of the number of progress rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradebookExportService {
+
+    private static final int ROW_WINDOW = 100;
+    private static final int FETCH_SIZE = 500;
+    private static final int FIXED_COLUMNS = 2;
+
+    // Ordered by student so each spreadsheet row can be flushed as soon as the student changes
+    private static final String GRADEBOOK_SQL =
+        "SELECT m.user_id, u.full_name, sp.assignment_id, sp.status, sp.score " +
+        "FROM class_members m " +
+        "LEFT JOIN users u ON u.id = m.user_id " +
+        "LEFT JOIN student_progress sp ON sp.student_id = m.user_id " +
+        "  AND sp.assignment_id IN (SELECT a.id FROM assignments a WHERE a.class_id = ?) " +
+        "WHERE m.class_id = ? AND m.role = 'STUDENT' " +
+        "ORDER BY m.user_id";
+
+    private final ClassRepository classRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final PermissionService permissionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The output is opened only once the checks passed and the workbook is ready to write,
+     * so a failed check still produces a normal error response.
+     * Read-only transaction keeps autocommit off, which PostgreSQL needs to honour the fetch size.
+     */
+    @Transactional(readOnly = true)
+    public void exportGradebook(Long classId, Long userId, OutputOpener output) {
+        classRepository.findById(classId)
+            .orElseThrow(() -> new AppException(ErrorCode.CLASS_NOT_FOUND));
+
+        permissionService.checkTeacherOrTA(classId, userId);
+
+        List<Assignment> assignments = assignmentRepository.findByClassEntityId(classId);
+        assignments.sort(Comparator.comparing(Assignment::getId));
+
+        Map<Long, Integer> columnByAssignment = new HashMap<>();
+        for (int i = 0; i < assignments.size(); i++) {
+            columnByAssignment.put(assignments.get(i).getId(), FIXED_COLUMNS + i);
+        }
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Gradebook");
+            writeHeader(workbook, sheet, assignments);
+
+            GradebookRowWriter rowWriter = new GradebookRowWriter(sheet, columnByAssignment, assignments.size());
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(GRADEBOOK_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setLong(1, classId);
+                ps.setLong(2, classId);
+                return ps;
+            }, rowWriter);
+            rowWriter.finish();
+
+            OutputStream out = output.open();
+            workbook.write(out);
+            out.flush();
+            log.info("Gradebook exported for class {} by user {}: {} students, {} assignments",
+                classId, userId, rowWriter.getStudentCount(), assignments.size());
+        } catch (IOException e) {
+            throw new AppException(ErrorCode.INTERNAL_SERVER_ERROR, "Failed to write gradebook export", e);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                log.warn("Failed to close gradebook workbook: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writeHeader(SXSSFWorkbook workbook, SXSSFSheet sheet, List<Assignment> assignments) {
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        CellStyle headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+
+        Row header = sheet.createRow(0);
+        setHeaderCell(header, 0, "Student ID", headerStyle);
+        setHeaderCell(header, 1, "Student Name", headerStyle);
+        for (int i = 0; i < assignments.size(); i++) {
+            setHeaderCell(header, FIXED_COLUMNS + i, assignments.get(i).getTitle(), headerStyle);
+        }
+        setHeaderCell(header, FIXED_COLUMNS + assignments.size(), "Completed", headerStyle);
+        setHeaderCell(header, FIXED_COLUMNS + assignments.size() + 1, "Total Score", headerStyle);
+        sheet.createFreezePane(FIXED_COLUMNS, 1);
+    }
+
+    private void setHeaderCell(Row row, int column, String value, CellStyle style) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        cell.setCellStyle(style);
+    }
+
+    /**
+     * Collapses consecutive result rows of the same student into one spreadsheet row
+     */
+    private static class GradebookRowWriter implements RowCallbackHandler {
+
+        private final SXSSFSheet sheet;
+        private final Map<Long, Integer> columnByAssignment;
+        private final int assignmentCount;
+
+        private int nextRow = 1;
+        private Row current;
+        private Long currentStudentId;
+        private int completed;
+        private long totalScore;
+
+        GradebookRowWriter(SXSSFSheet sheet, Map<Long, Integer> columnByAssignment, int assignmentCount) {
+            this.sheet = sheet;
+            this.columnByAssignment = columnByAssignment;
+            this.assignmentCount = assignmentCount;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long studentId = rs.getLong("user_id");
+            if (currentStudentId == null || currentStudentId != studentId) {
+                finish();
+                startRow(studentId, rs.getString("full_name"));
+            }
+
+            long assignmentId = rs.getLong("assignment_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            Integer column = columnByAssignment.get(assignmentId);
+            int score = rs.getInt("score");
+            boolean hasScore = !rs.wasNull();
+            if (column != null && "SUBMITTED".equals(rs.getString("status")) && hasScore) {
+                current.createCell(column).setCellValue(score);
+                completed++;
+                totalScore += score;
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                current.createCell(FIXED_COLUMNS + assignmentCount).setCellValue(completed);
+                current.createCell(FIXED_COLUMNS + assignmentCount + 1).setCellValue(totalScore);
+                current = null;
+            }
+        }
+
+        int getStudentCount() {
+            return nextRow - 1;
+        }
+
+        private void startRow(long studentId, String fullName) {
+            current = sheet.createRow(nextRow++);
+            currentStudentId = studentId;
+            completed = 0;
+            totalScore = 0;
+            current.createCell(0).setCellValue(studentId);
+            if (fullName != null) {
+                current.createCell(1).setCellValue(fullName);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface OutputOpener {
+        OutputStream open() throws IOException;
+    }
+}
@@ -26,6 +26,9 @@ public class InvitationService {
     private final ClassMemberRepository classMemberRepository;
     private final NotificationServiceClient notificationServiceClient;
     private final ClassService classService;
+    private final MembershipCacheService membershipCacheService;
+    private final DueIndexService dueIndexService;
+    private final LeaderboardIndexService leaderboardIndexService;
     
     @Transactional
     public ClassResponse acceptInvitation(AcceptInvitationRequest request, Long userId) {
@@ -45,6 +48,12 @@ public class InvitationService {
             .joinedAt(LocalDateTime.now())
             .build();
         classMemberRepository.save(member);
+        classRepository.adjustMemberCount(classEntity.getId(), 1);
+        classEntity.setMemberCount(classEntity.getMemberCount() + 1); // the managed entity is reused by getClassById below
+        membershipCacheService.invalidate(classEntity.getId(), userId);
+        dueIndexService.invalidate(userId);
+        // A returning student's earlier submissions count again
+        leaderboardIndexService.refreshStudent(classEntity.getId(), userId);
         
         log.info("Invitation accepted: {} by user: {}", request.getInvitationCode(), userId);
         return classService.getClassById(classEntity.getId(), userId);
@@ -0,0 +1,301 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.ReportingRepository;
+import com.example.class_assignment_service.repository.projection.StudentTotalsView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Per-class leaderboard kept in two Redis sorted sets (total score, completed count).
+ * After a score or membership change commits, the touched students' totals are re-read from
+ * student_progress and written as absolute values, so reads never recompute the whole ranking.
+ * Every write takes a ticket from a per-class counter before reading the DB and only replaces a
+ * student written with a lower ticket: the highest ticket always read after every commit before it,
+ * so neither a slow writer nor a rebuild running concurrently can overwrite fresher totals.
+ * The ticket counter never expires, so tickets keep increasing across an expiry of the index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardIndexService {
+
+    private static final String KEY_PREFIX = "leaderboard:";
+    private static final Object DIRTY_STUDENTS = new Object();
+
+    // KEYS: score, completed, applied tickets, ready. ARGV: ticket, full ('1' on rebuild), ttl ms, then student, score, completed triples.
+    // A completed count of 0 removes the student; a full rebuild also removes students missing from its snapshot.
+    // Every write renews the TTL of all four keys, so they expire together and the next read rebuilds
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+        "local ticket = tonumber(ARGV[1]) " +
+        "local seen = {} " +
+        "for i = 4, #ARGV, 3 do " +
+        "  local member = ARGV[i] " +
+        "  seen[member] = true " +
+        "  if ticket > tonumber(redis.call('HGET', KEYS[3], member) or '0') then " +
+        "    redis.call('HSET', KEYS[3], member, ARGV[1]) " +
+        "    if ARGV[i + 2] == '0' then " +
+        "      redis.call('ZREM', KEYS[1], member) " +
+        "      redis.call('ZREM', KEYS[2], member) " +
+        "    else " +
+        "      redis.call('ZADD', KEYS[1], ARGV[i + 1], member) " +
+        "      redis.call('ZADD', KEYS[2], ARGV[i + 2], member) " +
+        "    end " +
+        "  end " +
+        "end " +
+        "if ARGV[2] == '1' then " +
+        "  for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do " +
+        "    if not seen[member] and ticket > tonumber(redis.call('HGET', KEYS[3], member) or '0') then " +
+        "      redis.call('HSET', KEYS[3], member, ARGV[1]) " +
+        "      redis.call('ZREM', KEYS[1], member) " +
+        "      redis.call('ZREM', KEYS[2], member) " +
+        "    end " +
+        "  end " +
+        "  redis.call('SET', KEYS[4], '1') " +
+        "end " +
+        "for i = 1, 4 do " +
+        "  redis.call('PEXPIRE', KEYS[i], ARGV[3]) " +
+        "end " +
+        "return 1",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReportingRepository reportingRepository;
+    private final ClassRepository classRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.leaderboard.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.leaderboard.ttl:7d}")
+    private Duration ttl;
+
+    /**
+     * Re-read one student's totals (score change, joined, left or changed role in the class).
+     * Deferred until after commit and batched per class when called inside a transaction.
+     */
+    public void refreshStudent(Long classId, Long studentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshStudents(classId, Set.of(studentId));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Set<Long>> dirty = (Map<Long, Set<Long>>) TransactionSynchronizationManager.getResource(DIRTY_STUDENTS);
+        if (dirty == null) {
+            Map<Long, Set<Long>> pending = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(DIRTY_STUDENTS, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.forEach(LeaderboardIndexService.this::refreshStudents);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DIRTY_STUDENTS);
+                }
+            });
+            dirty = pending;
+        }
+        dirty.computeIfAbsent(classId, k -> new HashSet<>()).add(studentId);
+    }
+
+    /**
+     * Mark the class index as stale so the next read rebuilds it (e.g. an assignment was deleted)
+     */
+    public void invalidate(Long classId) {
+        runAfterCommit(() -> {
+            try {
+                redisTemplate.delete(readyKey(classId));
+            } catch (DataAccessException e) {
+                log.warn("Failed to invalidate leaderboard index of class {}: {}", classId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * All standings of a class ordered by total score descending
+     */
+    public List<Standing> getStandings(Long classId) {
+        ensureBuilt(classId);
+
+        Set<ZSetOperations.TypedTuple<String>> scores = redisTemplate.opsForZSet()
+            .reverseRangeWithScores(scoreKey(classId), 0, -1);
+        Set<ZSetOperations.TypedTuple<String>> completed = redisTemplate.opsForZSet()
+            .rangeWithScores(completedKey(classId), 0, -1);
+
+        Map<String, Integer> completedByStudent = new HashMap<>();
+        if (completed != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : completed) {
+                completedByStudent.put(tuple.getValue(), toInt(tuple.getScore()));
+            }
+        }
+
+        List<Standing> standings = new ArrayList<>();
+        if (scores != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : scores) {
+                standings.add(new Standing(
+                    Long.valueOf(tuple.getValue()),
+                    tuple.getScore() != null ? tuple.getScore() : 0.0,
+                    completedByStudent.getOrDefault(tuple.getValue(), 0)
+                ));
+            }
+        }
+        return standings;
+    }
+
+    /**
+     * Standing of a single student; rank is 1-based. Students without submissions share the last rank.
+     */
+    public Standing getStanding(Long classId, Long studentId) {
+        ensureBuilt(classId);
+
+        String member = String.valueOf(studentId);
+        Long rank = redisTemplate.opsForZSet().reverseRank(scoreKey(classId), member);
+        if (rank == null) {
+            Long size = redisTemplate.opsForZSet().zCard(scoreKey(classId));
+            return new Standing(studentId, 0.0, 0, (size != null ? size.intValue() : 0) + 1);
+        }
+
+        Double score = redisTemplate.opsForZSet().score(scoreKey(classId), member);
+        Double completed = redisTemplate.opsForZSet().score(completedKey(classId), member);
+        return new Standing(studentId, score != null ? score : 0.0, toInt(completed), rank.intValue() + 1);
+    }
+
+    /**
+     * Recompute the class index from student_progress with a single GROUP BY query
+     */
+    public void rebuild(Long classId) {
+        long ticket = nextTicket(classId);
+        List<StudentTotalsView> totals = reportingRepository.findMemberTotalsByClassId(classId);
+        apply(classId, ticket, true, totals, Set.of());
+        log.info("Leaderboard index rebuilt for class {} with {} ranked students", classId, totals.size());
+    }
+
+    /**
+     * Backfill the index for every class
+     */
+    public void rebuildAll() {
+        List<Long> classIds = classRepository.findAllIds();
+        classIds.forEach(this::rebuild);
+        log.info("Leaderboard index rebuilt for {} classes", classIds.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+
+    private void ensureBuilt(Long classId) {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(readyKey(classId)))) {
+            rebuild(classId);
+        }
+    }
+
+    // Runs after the caller's commit, so the totals are read in a transaction of their own
+    private void refreshStudents(Long classId, Set<Long> studentIds) {
+        try {
+            long ticket = nextTicket(classId);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            readOnly.setReadOnly(true);
+            List<StudentTotalsView> totals = readOnly.execute(status ->
+                reportingRepository.findMemberTotalsByClassIdAndStudentIds(classId, studentIds));
+            apply(classId, ticket, false, totals, studentIds);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to update leaderboard index for class {}: {}", classId, e.getMessage());
+        }
+    }
+
+    private long nextTicket(Long classId) {
+        Long ticket = redisTemplate.opsForValue().increment(ticketKey(classId));
+        return ticket != null ? ticket : 0L;
+    }
+
+    // Students without a totals row get a completed count of 0, which removes them from the ranking
+    private void apply(Long classId, long ticket, boolean full, List<StudentTotalsView> totals, Set<Long> studentIds) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ticket));
+        args.add(full ? "1" : "0");
+        args.add(String.valueOf(ttl.toMillis()));
+        Set<Long> missing = new HashSet<>(studentIds);
+        for (StudentTotalsView total : totals) {
+            missing.remove(total.studentId());
+            args.add(String.valueOf(total.studentId()));
+            args.add(String.valueOf(total.totalScore() != null ? total.totalScore() : 0L));
+            args.add(String.valueOf(total.completedCount() != null ? total.completedCount() : 0L));
+        }
+        for (Long studentId : missing) {
+            args.add(String.valueOf(studentId));
+            args.add("0");
+            args.add("0");
+        }
+        redisTemplate.execute(APPLY_SCRIPT,
+            List.of(scoreKey(classId), completedKey(classId), appliedKey(classId), readyKey(classId)),
+            args.toArray());
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int toInt(Double value) {
+        return value != null ? (int) Math.round(value) : 0;
+    }
+
+    private static String scoreKey(Long classId) {
+        return KEY_PREFIX + classId + ":score";
+    }
+
+    private static String completedKey(Long classId) {
+        return KEY_PREFIX + classId + ":completed";
+    }
+
+    private static String readyKey(Long classId) {
+        return KEY_PREFIX + classId + ":ready";
+    }
+
+    private static String ticketKey(Long classId) {
+        return KEY_PREFIX + classId + ":ticket";
+    }
+
+    private static String appliedKey(Long classId) {
+        return KEY_PREFIX + classId + ":applied";
+    }
+
+    public record Standing(Long studentId, double totalScore, int completedAssignments, Integer rank) {
+
+        public Standing(Long studentId, double totalScore, int completedAssignments) {
+            this(studentId, totalScore, completedAssignments, null);
+        }
+    }
+}
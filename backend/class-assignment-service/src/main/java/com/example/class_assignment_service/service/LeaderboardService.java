@@ -1,22 +1,18 @@
 package com.example.class_assignment_service.service;
 
+import com.example.class_assignment_service.client.UserServiceClient;
 import com.example.class_assignment_service.dto.response.LeaderboardEntryResponse;
 import com.example.class_assignment_service.dto.response.LeaderboardResponse;
-import com.example.class_assignment_service.model.Assignment;
 import com.example.class_assignment_service.model.ClassEntity;
-import com.example.class_assignment_service.model.StudentProgress;
 import com.example.class_assignment_service.model.enums.ClassRole;
 import com.example.class_assignment_service.repository.AssignmentRepository;
 import com.example.class_assignment_service.repository.ClassMemberRepository;
 import com.example.class_assignment_service.repository.ClassRepository;
-import com.example.class_assignment_service.repository.StudentProgressRepository;
 import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -25,93 +21,92 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class LeaderboardService {
-    
+
     private final ClassRepository classRepository;
     private final ClassMemberRepository classMemberRepository;
     private final AssignmentRepository assignmentRepository;
-    private final StudentProgressRepository progressRepository;
     private final PermissionService permissionService;
-    
-    @Cacheable(value = "leaderboard", key = "#classId")
+    private final LeaderboardIndexService leaderboardIndexService;
+    private final UserServiceClient userServiceClient;
+
     public LeaderboardResponse getLeaderboard(Long classId, Long userId) {
         ClassEntity classEntity = classRepository.findById(classId)
             .orElseThrow(() -> new AppException(ErrorCode.CLASS_NOT_FOUND));
-        
+
         permissionService.checkMemberAccess(classId, userId);
-        
+
         // Get all students
-        List<Long> studentIds = classMemberRepository
+        Set<Long> studentIds = classMemberRepository
             .findByClassEntityIdAndRole(classId, ClassRole.STUDENT)
             .stream()
             .map(member -> member.getUserId())
-            .collect(Collectors.toList());
-        
-        // Get all assignments
-        List<Assignment> assignments = assignmentRepository.findByClassEntityId(classId);
-        
-        // Calculate leaderboard entries
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        int totalAssignments = (int) assignmentRepository.countByClassEntityId(classId);
+        Map<Long, String> userNames = userServiceClient.getUserNamesByIds(studentIds);
+
+        // Ranked students come from the Redis index, already sorted by total score descending
         List<LeaderboardEntryResponse> entries = new ArrayList<>();
         int rank = 1;
-        
-        // Group progress by student
-        Map<Long, List<StudentProgress>> progressByStudent = new HashMap<>();
-        for (Long studentId : studentIds) {
-            List<StudentProgress> progresses = progressRepository
-                .findByClassIdAndStudentId(classId, studentId);
-            progressByStudent.put(studentId, progresses);
+        Set<Long> ranked = new HashSet<>();
+        for (LeaderboardIndexService.Standing standing : leaderboardIndexService.getStandings(classId)) {
+            if (!studentIds.contains(standing.studentId())) {
+                continue;
+            }
+            ranked.add(standing.studentId());
+            entries.add(toEntry(standing.studentId(), userNames.get(standing.studentId()), standing.totalScore(),
+                standing.completedAssignments(), totalAssignments, rank++));
         }
-        
-        // Calculate scores for each student
-        List<LeaderboardEntry> leaderboardEntries = new ArrayList<>();
+
+        // Students without any submission are listed last
         for (Long studentId : studentIds) {
-            List<StudentProgress> progresses = progressByStudent.getOrDefault(studentId, Collections.emptyList());
-            
-            double totalScore = 0.0;
-            int completedCount = 0;
-            
-            for (StudentProgress progress : progresses) {
-                if (progress.getStatus().equals("SUBMITTED") && progress.getScore() != null) {
-                    totalScore += progress.getScore();
-                    completedCount++;
-                }
+            if (!ranked.contains(studentId)) {
+                entries.add(toEntry(studentId, userNames.get(studentId), 0.0, 0, totalAssignments, rank++));
             }
-            
-            double averageScore = completedCount > 0 ? totalScore / completedCount : 0.0;
-            
-            leaderboardEntries.add(new LeaderboardEntry(
-                studentId, totalScore, averageScore, completedCount, assignments.size()
-            ));
         }
-        
-        // Sort by total score descending
-        leaderboardEntries.sort((a, b) -> Double.compare(b.totalScore, a.totalScore));
-        
-        // Build response entries
-        for (LeaderboardEntry entry : leaderboardEntries) {
-            double completionRate = entry.totalAssignments > 0
-                ? (double) entry.completedAssignments / entry.totalAssignments * 100
-                : 0.0;
-            
-            entries.add(LeaderboardEntryResponse.builder()
-                .userId(entry.userId)
-                .totalScore(entry.totalScore)
-                .averageScore(entry.averageScore)
-                .completedAssignments(entry.completedAssignments)
-                .totalAssignments(entry.totalAssignments)
-                .rank(rank++)
-                .completionRate(completionRate)
-                .build());
-        }
-        
+
         return LeaderboardResponse.builder()
             .classId(classId)
             .className(classEntity.getName())
             .entries(entries)
             .totalStudents(entries.size())
-            .totalAssignments(assignments.size())
+            .totalAssignments(totalAssignments)
+            .build();
+    }
+
+    public LeaderboardEntryResponse getStudentStanding(Long classId, Long userId) {
+        permissionService.checkMemberAccess(classId, userId);
+
+        int totalAssignments = (int) assignmentRepository.countByClassEntityId(classId);
+        LeaderboardIndexService.Standing standing = leaderboardIndexService.getStanding(classId, userId);
+        return toEntry(userId, userServiceClient.getUserNameById(userId), standing.totalScore(), standing.completedAssignments(), totalAssignments, standing.rank());
+    }
+
+    public void rebuildLeaderboard(Long classId, Long userId) {
+        classRepository.findById(classId)
+            .orElseThrow(() -> new AppException(ErrorCode.CLASS_NOT_FOUND));
+
+        permissionService.checkTeacher(classId, userId);
+        leaderboardIndexService.rebuild(classId);
+        log.info("Leaderboard rebuilt for class: {} by user: {}", classId, userId);
+    }
+
+    private LeaderboardEntryResponse toEntry(Long studentId, String userName, double totalScore,
+                                             int completedAssignments, int totalAssignments, Integer rank) {
+        double averageScore = completedAssignments > 0 ? totalScore / completedAssignments : 0.0;
+        double completionRate = totalAssignments > 0
+            ? (double) completedAssignments / totalAssignments * 100
+            : 0.0;
+
+        return LeaderboardEntryResponse.builder()
+            .userId(studentId)
+            .userName(userName)
+            .totalScore(totalScore)
+            .averageScore(averageScore)
+            .completedAssignments(completedAssignments)
+            .totalAssignments(totalAssignments)
+            .rank(rank)
+            .completionRate(completionRate)
             .build();
     }
-    
-    private record LeaderboardEntry(Long userId, double totalScore, double averageScore, 
-                                    int completedAssignments, int totalAssignments) {}
 }
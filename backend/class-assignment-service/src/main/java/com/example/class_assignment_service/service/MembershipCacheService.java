@@ -0,0 +1,117 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * In-process near-cache of (classId, userId) -> ClassRole used by permission checks.
+ * Entries expire after a TTL; membership changes evict locally and are broadcast to
+ * other instances over Redis pub/sub.
+ */
+@Slf4j
+@Service
+public class MembershipCacheService {
+    
+    public static final String INVALIDATION_CHANNEL = "class-membership:invalidate";
+    private static final String WHOLE_CLASS = "*";
+    
+    private final Cache<MemberKey, Optional<ClassRole>> cache;
+    private final StringRedisTemplate redisTemplate;
+    
+    public MembershipCacheService(StringRedisTemplate redisTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.membership-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.membership-cache.ttl:5m}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "class-membership");
+    }
+    
+    /**
+     * Cached role of a user in a class; empty when the user is not a member
+     */
+    public Optional<ClassRole> getRole(Long classId, Long userId, Supplier<Optional<ClassRole>> loader) {
+        return cache.get(new MemberKey(classId, userId), key -> loader.get());
+    }
+    
+    /**
+     * Evict one membership on this instance now, and on every instance once the transaction commits
+     */
+    public void invalidate(Long classId, Long userId) {
+        publish(classId + ":" + userId);
+    }
+    
+    /**
+     * Evict every cached membership of a class (e.g. class deleted)
+     */
+    public void invalidateClass(Long classId) {
+        publish(classId + ":" + WHOLE_CLASS);
+    }
+    
+    /**
+     * Apply an invalidation message received from another instance (or echoed back from this one)
+     */
+    public void handleInvalidation(String message) {
+        String[] parts = message.split(":", 2);
+        if (parts.length != 2) {
+            log.warn("Ignoring malformed membership invalidation: {}", message);
+            return;
+        }
+        try {
+            Long classId = Long.valueOf(parts[0]);
+            if (WHOLE_CLASS.equals(parts[1])) {
+                cache.asMap().keySet().removeIf(key -> key.classId().equals(classId));
+            } else {
+                cache.invalidate(new MemberKey(classId, Long.valueOf(parts[1])));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed membership invalidation: {}", message);
+        }
+    }
+    
+    private void publish(String message) {
+        handleInvalidation(message);
+        // Evict again after commit: a concurrent read may have cached the pre-commit role in between
+        runAfterCommit(() -> {
+            handleInvalidation(message);
+            try {
+                redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+            } catch (DataAccessException e) {
+                log.warn("Failed to broadcast membership invalidation {}: {}", message, e.getMessage());
+            }
+        });
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private record MemberKey(Long classId, Long userId) {}
+}
@@ -0,0 +1,83 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.config.RabbitMQConfig;
+import com.example.class_assignment_service.exception.AppException;
+import com.example.class_assignment_service.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Writes notification events to the outbox in the caller's transaction.
+ * Payloads use the notification-service event format (id, event_type, user_id, timestamp, data, retry).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox_events (id, event_id, exchange, routing_key, payload, created_at, updated_at) " +
+        "VALUES (nextval('outbox_events_id_seq'), ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Queue one notification per user with a single JDBC batch insert
+     *
+     * @param eventType notification-service event type, e.g. quiz_assigned
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueNotifications(String eventType, Collection<Long> userIds, Map<String, Object> data) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        
+        String routingKey = RabbitMQConfig.NOTIFICATION_ROUTING_PREFIX + eventType;
+        String timestamp = OffsetDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            String eventId = UUID.randomUUID().toString();
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("id", eventId);
+            event.put("event_type", eventType);
+            event.put("user_id", userId);
+            event.put("timestamp", timestamp);
+            event.put("data", data);
+            event.put("retry", 0);
+            rows.add(new Object[] { eventId, RabbitMQConfig.NOTIFICATION_EXCHANGE, routingKey, toJson(event), now, now });
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        log.debug("Queued {} {} notifications in the outbox", rows.size(), eventType);
+    }
+    
+    /**
+     * Queue one notification in a transaction of its own, e.g. when a direct send could not be made
+     */
+    @Transactional
+    public void enqueueNotification(String eventType, Long userId, Map<String, Object> data) {
+        enqueueNotifications(eventType, List.of(userId), data);
+    }
+    
+    private String toJson(Map<String, Object> event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new AppException(ErrorCode.INTERNAL_SERVER_ERROR, "Failed to serialize outbox event", e);
+        }
+    }
+}
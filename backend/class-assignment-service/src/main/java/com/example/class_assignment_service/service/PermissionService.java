@@ -17,10 +17,10 @@ import java.util.Optional;
 public class PermissionService {
     
     private final ClassMemberRepository classMemberRepository;
+    private final MembershipCacheService membershipCacheService;
     
     public void checkTeacher(Long classId, Long userId) {
-        ClassMember member = getMember(classId, userId);
-        if (member.getRole() != ClassRole.TEACHER) {
+        if (getMemberRole(classId, userId) != ClassRole.TEACHER) {
             throw new AppException(ErrorCode.FORBIDDEN, "Only teachers can perform this action");
         }
     }
@@ -31,7 +31,7 @@ public class PermissionService {
     }
     
     public void checkMemberAccess(Long classId, Long userId) {
-        getMember(classId, userId);
+        getMemberRole(classId, userId);
     }
     
     public ClassMember getMember(Long classId, Long userId) {
@@ -43,6 +43,15 @@ public class PermissionService {
     }
     
     public ClassRole getMemberRole(Long classId, Long userId) {
-        return getMember(classId, userId).getRole();
+        return findMemberRole(classId, userId)
+            .orElseThrow(() -> new AppException(ErrorCode.UNAUTHORIZED_CLASS_ACCESS));
+    }
+    
+    /**
+     * Role of the user in the class, served from the membership near-cache
+     */
+    public Optional<ClassRole> findMemberRole(Long classId, Long userId) {
+        return membershipCacheService.getRole(classId, userId, () ->
+            classMemberRepository.findByClassEntityIdAndUserId(classId, userId).map(ClassMember::getRole));
     }
 }
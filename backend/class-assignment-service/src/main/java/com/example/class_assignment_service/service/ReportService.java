@@ -1,23 +1,29 @@
 package com.example.class_assignment_service.service;
 
+import com.example.class_assignment_service.client.UserServiceClient;
 import com.example.class_assignment_service.dto.response.AssignmentReportResponse;
 import com.example.class_assignment_service.dto.response.ClassReportResponse;
 import com.example.class_assignment_service.dto.response.StudentProgressResponse;
 import com.example.class_assignment_service.model.Assignment;
-import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.model.AssignmentStats;
 import com.example.class_assignment_service.model.ClassEntity;
 import com.example.class_assignment_service.model.enums.ClassRole;
 import com.example.class_assignment_service.repository.AssignmentRepository;
-import com.example.class_assignment_service.repository.StudentProgressRepository;
 import com.example.class_assignment_service.repository.ClassMemberRepository;
 import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.ReportingRepository;
+import com.example.class_assignment_service.repository.projection.StudentTotalsView;
 import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,9 +33,11 @@ public class ReportService {
     
     private final ClassRepository classRepository;
     private final AssignmentRepository assignmentRepository;
-    private final StudentProgressRepository progressRepository;
     private final ClassMemberRepository classMemberRepository;
+    private final ReportingRepository reportingRepository;
+    private final AssignmentStatsService assignmentStatsService;
     private final PermissionService permissionService;
+    private final UserServiceClient userServiceClient;
     
     public ClassReportResponse getClassReport(Long classId, Long userId) {
         ClassEntity classEntity = classRepository.findById(classId)
@@ -37,19 +45,27 @@ public class ReportService {
         
         permissionService.checkTeacherOrTA(classId, userId);
         
+        // Constant number of round trips: assignments, materialized stats, student ids, student totals, names
         List<Assignment> assignments = assignmentRepository.findByClassEntityId(classId);
-        List<Long> studentIds = classMemberRepository
-            .findByClassEntityIdAndRole(classId, ClassRole.STUDENT)
+        assignments.sort(Comparator.comparing(Assignment::getId));
+        Map<Long, AssignmentStats> statsByAssignment = assignmentStatsService.getStats(
+            assignments.stream().map(Assignment::getId).toList());
+        List<Long> studentIds = classMemberRepository.findUserIdsByClassIdAndRole(classId, ClassRole.STUDENT);
+        Map<Long, StudentTotalsView> totalsByStudent = reportingRepository.findStudentTotalsByClassId(classId)
             .stream()
-            .map(member -> member.getUserId())
-            .collect(Collectors.toList());
+            .collect(Collectors.toMap(StudentTotalsView::studentId, Function.identity()));
+        Map<Long, String> userNames = userServiceClient.getUserNamesByIds(studentIds);
+        
+        int totalStudents = studentIds.size();
+        int totalAssignments = assignments.size();
         
         List<AssignmentReportResponse> assignmentReports = assignments.stream()
-            .map(this::generateAssignmentReport)
+            .map(a -> generateAssignmentReport(a, statsByAssignment.get(a.getId()), totalStudents))
             .collect(Collectors.toList());
         
         List<StudentProgressResponse> studentProgress = studentIds.stream()
-            .map(studentId -> generateStudentProgress(classId, studentId, assignments))
+            .map(studentId -> generateStudentProgress(studentId, userNames.get(studentId),
+                totalsByStudent.get(studentId), totalAssignments))
             .collect(Collectors.toList());
         
         double averageScore = studentProgress.stream()
@@ -61,81 +77,46 @@ public class ReportService {
         return ClassReportResponse.builder()
             .classId(classId)
             .className(classEntity.getName())
-            .totalStudents(studentIds.size())
-            .totalAssignments(assignments.size())
+            .totalStudents(totalStudents)
+            .totalAssignments(totalAssignments)
             .averageScore(averageScore)
             .assignmentReports(assignmentReports)
             .studentProgress(studentProgress)
             .build();
     }
     
-    private AssignmentReportResponse generateAssignmentReport(Assignment assignment) {
-        List<StudentProgress> progresses = progressRepository.findByAssignmentId(assignment.getId());
-        
-        List<StudentProgress> completed = progresses.stream()
-            .filter(p -> p.getStatus().equals("SUBMITTED") && p.getScore() != null)
-            .collect(Collectors.toList());
-        
-        double averageScore = completed.stream()
-            .mapToDouble(p -> p.getScore().doubleValue())
-            .average()
-            .orElse(0.0);
-        
-        double maxScore = completed.stream()
-            .mapToDouble(p -> p.getScore().doubleValue())
-            .max()
-            .orElse(0.0);
-        
-        double minScore = completed.stream()
-            .mapToDouble(p -> p.getScore().doubleValue())
-            .min()
-            .orElse(0.0);
-        
-        long uniqueStudents = progresses.stream()
-            .map(StudentProgress::getStudentId)
-            .distinct()
-            .count();
-        
-        long totalStudents = classMemberRepository
-            .countByClassIdAndRole(assignment.getClassEntity().getId(), ClassRole.STUDENT);
-        
-        double completionRate = totalStudents > 0 ? (double) uniqueStudents / totalStudents * 100 : 0.0;
+    private AssignmentReportResponse generateAssignmentReport(Assignment assignment, AssignmentStats stats, long totalStudents) {
+        long submissions = stats.getSubmissionCount();
+        double completionRate = totalStudents > 0 ? (double) submissions / totalStudents * 100 : 0.0;
         
         return AssignmentReportResponse.builder()
             .assignmentId(assignment.getId())
             .assignmentTitle(assignment.getTitle())
             .deadline(assignment.getDueTime())
-            .totalSubmissions(completed.size())
+            .totalSubmissions((int) submissions)
             .totalStudents((int) totalStudents)
-            .averageScore(averageScore)
-            .maxScore(maxScore)
-            .minScore(minScore)
+            .averageScore(AssignmentStatsService.average(stats))
+            .maxScore(stats.getMaxScore() != null ? stats.getMaxScore().doubleValue() : 0.0)
+            .minScore(stats.getMinScore() != null ? stats.getMinScore().doubleValue() : 0.0)
+            .standardDeviation(AssignmentStatsService.standardDeviation(stats))
+            .scoreDistribution(Arrays.stream(stats.getHistogram()).boxed().toList())
             .completionRate(completionRate)
             .build();
     }
     
-    private StudentProgressResponse generateStudentProgress(Long classId, Long studentId, List<Assignment> assignments) {
-        int completedCount = 0;
-        double totalScore = 0.0;
-        
-        for (Assignment assignment : assignments) {
-            StudentProgress progress = progressRepository
-                .findByAssignmentIdAndStudentId(assignment.getId(), studentId)
-                .orElse(null);
-            
-            if (progress != null && progress.getStatus().equals("SUBMITTED") && progress.getScore() != null) {
-                totalScore += progress.getScore();
-                completedCount++;
-            }
-        }
+    private StudentProgressResponse generateStudentProgress(Long studentId, String userName,
+                                                            StudentTotalsView totals, int totalAssignments) {
+        int completedCount = totals != null && totals.completedCount() != null ? totals.completedCount().intValue() : 0;
+        double totalScore = totals != null && totals.totalScore() != null ? totals.totalScore().doubleValue() : 0.0;
         
         double averageScore = completedCount > 0 ? totalScore / completedCount : 0.0;
-        double completionRate = assignments.size() > 0 ? (double) completedCount / assignments.size() * 100 : 0.0;
+        double completionRate = totalAssignments > 0 ? (double) completedCount / totalAssignments * 100 : 0.0;
         
         return StudentProgressResponse.builder()
             .userId(studentId)
+            .userName(userName)
             .completedAssignments(completedCount)
-            .totalAssignments(assignments.size())
+            .totalAssignments(totalAssignments)
             .averageScore(averageScore)
             .totalScore(totalScore)
             .completionRate(completionRate)
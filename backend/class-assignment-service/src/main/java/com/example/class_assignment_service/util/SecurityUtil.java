@@ -1,6 +1,7 @@
 package com.example.class_assignment_service.util;
 
 import com.example.class_assignment_service.client.UserServiceClient;
+import com.example.class_assignment_service.config.JwtAuthenticationFilter;
 import com.example.class_assignment_service.exception.AppException;
 import com.example.class_assignment_service.exception.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
@@ -59,6 +60,10 @@ public class SecurityUtil {
         if (authentication != null && authentication.getAuthorities() != null && !authentication.getAuthorities().isEmpty()) {
             try {
                 String role = authentication.getAuthorities().iterator().next().getAuthority();
+                // Versioned tokens carry the real role; only legacy tokens may default to ROLE_USER
+                if (authentication.getDetails() instanceof JwtAuthenticationFilter.TokenDetails) {
+                    return role;
+                }
                 // If role is ROLE_USER (default), try to get actual role from database
                 if ("ROLE_USER".equals(role) && userServiceClient != null) {
                     String principal = authentication.getPrincipal().toString();
@@ -0,0 +1,126 @@
+package com.example.class_assignment_service.benchmark;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.StudentProgress;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to persist 10k StudentProgress rows through JPA, flushing every 50 rows.
+ * IDENTITY is the previous mapping (no JDBC batching, ids read back per INSERT); SEQUENCE is the pooled
+ * sequence mapping with hibernate.jdbc.batch_size=50 and ordered inserts/updates.
+ * Runs against in-memory H2, so it only shows the statement-count saving; against PostgreSQL each
+ * unbatched INSERT is also a network round trip and the gap widens.
+ *
+ * Run: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *        "-Dexec.args=-cp %classpath com.example.class_assignment_service.benchmark.StudentProgressInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StudentProgressInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    private String idGeneration;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory emf;
+    private Long assignmentId;
+    private long nextStudentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource(
+            "jdbc:h2:mem:insert_bench_" + idGeneration + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        factoryBean.setPackagesToScan(ClassEntity.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        if ("IDENTITY".equals(idGeneration)) {
+            factoryBean.setMappingResources("benchmark/identity-orm.xml");
+        } else {
+            properties.put("hibernate.jdbc.batch_size", BATCH_SIZE);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        }
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        emf = factoryBean.getObject();
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        ClassEntity classEntity = ClassEntity.builder()
+            .name("Benchmark class")
+            .teacherId(1L)
+            .invitationCode("BENCH")
+            .build();
+        em.persist(classEntity);
+        Assignment assignment = Assignment.builder()
+            .classEntity(classEntity)
+            .title("Benchmark quiz")
+            .startTime(LocalDateTime.now())
+            .dueTime(LocalDateTime.now().plusDays(7))
+            .build();
+        em.persist(assignment);
+        em.getTransaction().commit();
+        em.close();
+        assignmentId = assignment.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    public int insertProgressRows() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Assignment assignment = em.getReference(Assignment.class, assignmentId);
+            for (int i = 1; i <= ROWS; i++) {
+                em.persist(StudentProgress.builder()
+                    .assignment(assignment)
+                    .studentId(nextStudentId++)
+                    .build());
+                // Keep the persistence context small, as a backfill or roster import would
+                if (i % BATCH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                    assignment = em.getReference(Assignment.class, assignmentId);
+                }
+            }
+            em.getTransaction().commit();
+            return ROWS;
+        } finally {
+            em.close();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StudentProgressInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
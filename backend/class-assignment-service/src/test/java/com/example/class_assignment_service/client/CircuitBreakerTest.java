@@ -0,0 +1,67 @@
+package com.example.class_assignment_service.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(10), clock::get);
+    
+    @Test
+    void opensAfterConsecutiveFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+        
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+    
+    @Test
+    void successResetsFailureCount() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+    
+    @Test
+    void halfOpenAllowsSingleTrialAfterOpenDuration() {
+        tripOpen();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+    
+    @Test
+    void failedTrialReopens() {
+        tripOpen();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+    
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+}
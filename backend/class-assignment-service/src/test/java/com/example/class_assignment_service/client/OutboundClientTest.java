@@ -0,0 +1,112 @@
+package com.example.class_assignment_service.client;
+
+import com.example.class_assignment_service.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Downstream behaviour is simulated with an exchange function, no server needed
+ */
+class OutboundClientTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @Test
+    void testDeadlineBoundsRetryChain() {
+        OutboundTargetProperties properties = new OutboundTargetProperties();
+        properties.setResponseTimeout(Duration.ofMillis(200));
+        properties.setMaxRetries(5);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setDeadline(Duration.ofMillis(300));
+        AtomicInteger attempts = new AtomicInteger();
+        OutboundClient client = client(properties, request -> {
+            attempts.incrementAndGet();
+            return Mono.never();
+        });
+        
+        long start = System.nanoTime();
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> client.execute("slow", true, webClient -> webClient.get().uri("/slow").retrieve().bodyToMono(String.class)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(elapsedMillis < 1000, "took " + elapsedMillis + "ms");
+        assertTrue(attempts.get() <= 2);
+    }
+    
+    @Test
+    void testDeadlineExpiryCountsAsFailure() {
+        OutboundTargetProperties properties = new OutboundTargetProperties();
+        properties.setResponseTimeout(Duration.ofSeconds(5));
+        properties.setMaxRetries(0);
+        properties.setDeadline(Duration.ofMillis(100));
+        properties.setFailureThreshold(2);
+        OutboundClient client = client(properties, request -> Mono.never());
+        
+        for (int i = 0; i < 2; i++) {
+            assertThrows(RuntimeException.class,
+                () -> client.execute("slow", true, webClient -> webClient.get().uri("/slow").retrieve().bodyToMono(String.class)));
+        }
+        
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+    }
+    
+    @Test
+    void testPoolAcquireFailuresAreNotSent() {
+        URI uri = URI.create("http://notification-service/notifications");
+        
+        assertTrue(OutboundClient.isNotSent(new WebClientRequestException(
+            new PoolAcquirePendingLimitException(), HttpMethod.POST, uri, new HttpHeaders())));
+        assertTrue(OutboundClient.isNotSent(new WebClientRequestException(
+            new PoolAcquireTimeoutException(), HttpMethod.POST, uri, new HttpHeaders())));
+        assertFalse(OutboundClient.isNotSent(new WebClientRequestException(
+            new TimeoutException(), HttpMethod.POST, uri, new HttpHeaders())));
+    }
+    
+    @Test
+    void testUnsentNotificationIsQueuedInOutbox() {
+        OutboundTargetProperties properties = new OutboundTargetProperties();
+        properties.setMaxRetries(0);
+        OutboundClient client = client(properties, request -> Mono.error(new WebClientRequestException(
+            new ConnectException("Connection refused"), HttpMethod.POST, URI.create("http://notification-service/notifications"),
+            new HttpHeaders())));
+        OutboxService outboxService = mock(OutboxService.class);
+        NotificationServiceClient notificationClient = new NotificationServiceClient(
+            new OutboundClients(Map.of("notification-service", client), List.of()), outboxService, meterRegistry);
+        
+        notificationClient.sendDeadlineReminder(7L, "student@example.com", "Quiz 1", "Math", java.time.LocalDateTime.now());
+        
+        verify(outboxService, timeout(2000)).enqueueNotification(eq("deadline_reminder"), eq(7L), any());
+    }
+    
+    // Same simple names as the pool exceptions Reactor Netty shades in
+    private static class PoolAcquirePendingLimitException extends RuntimeException {
+    }
+    
+    private static class PoolAcquireTimeoutException extends TimeoutException {
+    }
+    
+    private OutboundClient client(OutboundTargetProperties properties, ExchangeFunction exchange) {
+        WebClient webClient = WebClient.builder().baseUrl("http://downstream").exchangeFunction(exchange).build();
+        return new OutboundClient("downstream-" + System.nanoTime(), webClient, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.class_assignment_service.listener;
+
+import com.example.class_assignment_service.config.RabbitMQConfig;
+import com.example.class_assignment_service.service.AssignmentService;
+import com.example.class_assignment_service.service.AssignmentService.QuizSubmission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizSubmittedListenerTest {
+    
+    @Mock
+    private AssignmentService assignmentService;
+    
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    
+    private QuizSubmittedListener listener;
+    
+    @BeforeEach
+    void setUp() {
+        listener = new QuizSubmittedListener(assignmentService, new ObjectMapper(), rabbitTemplate);
+    }
+    
+    @Test
+    void testUnreadableMessageIsDeadLetteredAndRestAppliedAsOneBatch() {
+        Message bad = message("{not json");
+        
+        listener.handleQuizSubmitted(List.of(event(1L, 10L), bad, event(2L, 11L)));
+        
+        verify(assignmentService).syncQuizSubmissions(List.of(submission(1L, 10L), submission(2L, 11L)));
+        verify(rabbitTemplate).send(eq(""), eq(RabbitMQConfig.QUIZ_SUBMITTED_DLQ), same(bad));
+        verifyNoMoreInteractions(assignmentService);
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class));
+    }
+    
+    @Test
+    void testFailingSubmissionIsDeadLetteredAndRestApplied() {
+        Message poison = event(2L, 11L);
+        doThrow(new IllegalStateException("constraint violation"))
+            .when(assignmentService).syncQuizSubmissions(argThat(batch -> batch.contains(submission(2L, 11L))));
+        
+        listener.handleQuizSubmitted(List.of(event(1L, 10L), poison, event(3L, 12L)));
+        
+        // Whole batch first, then one transaction per message
+        verify(assignmentService).syncQuizSubmissions(List.of(submission(1L, 10L), submission(2L, 11L), submission(3L, 12L)));
+        verify(assignmentService).syncQuizSubmissions(List.of(submission(1L, 10L)));
+        verify(assignmentService).syncQuizSubmissions(List.of(submission(2L, 11L)));
+        verify(assignmentService).syncQuizSubmissions(List.of(submission(3L, 12L)));
+        verify(rabbitTemplate).send(eq(""), eq(RabbitMQConfig.QUIZ_SUBMITTED_DLQ), same(poison));
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class));
+    }
+    
+    private static QuizSubmission submission(Long attemptId, Long userId) {
+        return new QuizSubmission(attemptId, 100L, userId, 8);
+    }
+    
+    private static Message event(Long attemptId, Long userId) {
+        return message("{\"quizAttemptId\":" + attemptId + ",\"quizId\":100,\"userId\":" + userId
+            + ",\"score\":8.0,\"maxScore\":10.0}");
+    }
+    
+    private static Message message(String body) {
+        return MessageBuilder.withBody(body.getBytes(StandardCharsets.UTF_8)).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.ClassMember;
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.repository.projection.UpcomingAssignmentView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class AssignmentRepositoryTest {
+    
+    private static final Long STUDENT_ID = 10L;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    
+    private final LocalDateTime now = LocalDateTime.now();
+    private Assignment dueTomorrow;
+    private Assignment dueNextWeek;
+    private Assignment submitted;
+    private Assignment otherClass;
+    
+    @BeforeEach
+    void setUp() {
+        ClassEntity math = persistClass("Math 101", "MATH101");
+        ClassEntity physics = persistClass("Physics", "PHYS101");
+        ClassEntity history = persistClass("History", "HIST101");
+        entityManager.persist(member(math, STUDENT_ID, ClassRole.STUDENT));
+        entityManager.persist(member(physics, STUDENT_ID, ClassRole.STUDENT));
+        entityManager.persist(member(history, STUDENT_ID, ClassRole.TEACHER));
+        
+        dueNextWeek = entityManager.persist(assignment(math, "Quiz 2", now.plusDays(7)));
+        dueTomorrow = entityManager.persist(assignment(physics, "Lab 1", now.plusDays(1)));
+        submitted = entityManager.persist(assignment(math, "Quiz 1", now.plusDays(2)));
+        entityManager.persist(assignment(math, "Quiz 0", now.minusDays(1)));
+        otherClass = entityManager.persist(assignment(history, "Essay", now.plusDays(3)));
+        
+        entityManager.persist(progress(submitted, "SUBMITTED"));
+        entityManager.persist(progress(dueNextWeek, "IN_PROGRESS"));
+        entityManager.flush();
+    }
+    
+    @Test
+    void testFindUpcomingForStudent() {
+        List<Long> upcoming = assignmentRepository.findUpcomingForStudent(STUDENT_ID, now, Limit.unlimited())
+            .stream()
+            .map(UpcomingAssignmentView::assignmentId)
+            .toList();
+        
+        // Soonest first; past due, submitted and non-student classes are excluded
+        assertEquals(List.of(dueTomorrow.getId(), dueNextWeek.getId()), upcoming);
+        assertFalse(upcoming.contains(otherClass.getId()));
+        assertEquals(1, assignmentRepository.findUpcomingForStudent(STUDENT_ID, now, Limit.of(1)).size());
+    }
+    
+    private ClassEntity persistClass(String name, String code) {
+        return entityManager.persist(ClassEntity.builder()
+            .name(name)
+            .teacherId(1L)
+            .invitationCode(code)
+            .build());
+    }
+    
+    private ClassMember member(ClassEntity classEntity, Long userId, ClassRole role) {
+        return ClassMember.builder()
+            .classEntity(classEntity)
+            .userId(userId)
+            .role(role)
+            .build();
+    }
+    
+    private Assignment assignment(ClassEntity classEntity, String title, LocalDateTime dueTime) {
+        return Assignment.builder()
+            .classEntity(classEntity)
+            .title(title)
+            .startTime(now.minusDays(3))
+            .dueTime(dueTime)
+            .build();
+    }
+    
+    private StudentProgress progress(Assignment assignment, String status) {
+        return StudentProgress.builder()
+            .assignment(assignment)
+            .studentId(STUDENT_ID)
+            .status(status)
+            .build();
+    }
+}
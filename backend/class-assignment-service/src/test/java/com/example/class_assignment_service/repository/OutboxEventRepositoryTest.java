@@ -0,0 +1,125 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.OutboxEvent;
+import com.example.class_assignment_service.service.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rows are written through OutboxService and committed, so two transactions can contend for them
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEventRepositoryTest {
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate tx;
+    private OutboxService outboxService;
+    
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        outboxService = new OutboxService(jdbcTemplate, new ObjectMapper());
+        tx.executeWithoutResult(status ->
+            outboxService.enqueueNotifications("quiz_assigned", List.of(10L, 11L, 12L, 13L), Map.of("quiz_title", "Quiz 1")));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> outboxEventRepository.deleteAll());
+    }
+    
+    @Test
+    void testEnqueuedRowsAreUnpublishedInInsertOrder() {
+        List<OutboxEvent> events = tx.execute(status -> outboxEventRepository.lockUnpublished(10));
+        
+        assertEquals(4, events.size());
+        assertTrue(events.get(0).getId() < events.get(3).getId());
+        assertEquals("notification.quiz_assigned", events.get(0).getRoutingKey());
+        assertTrue(events.get(0).getPayload().contains("\"user_id\":10"));
+    }
+    
+    @Test
+    void testLockUnpublishedSkipsLockedRows() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        // First relay locks the whole backlog and holds its transaction open. H2 locks every row the ordered
+        // scan reads rather than only the LIMIT ones, so the test does not rely on a partial batch
+        CompletableFuture<List<OutboxEvent>> first = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.lockUnpublished(10);
+            locked.countDown();
+            await(release);
+            return events;
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        tx.executeWithoutResult(status -> outboxService.enqueueNotifications("quiz_assigned", List.of(14L), Map.of()));
+        
+        // Second relay gets only the new row instead of waiting for the first
+        List<OutboxEvent> second = tx.execute(status -> outboxEventRepository.lockUnpublished(10));
+        release.countDown();
+        
+        List<Long> firstIds = first.get(10, TimeUnit.SECONDS).stream().map(OutboxEvent::getId).toList();
+        assertEquals(4, firstIds.size());
+        assertEquals(1, second.size());
+        assertFalse(firstIds.contains(second.get(0).getId()));
+        assertTrue(second.get(0).getPayload().contains("\"user_id\":14"));
+    }
+    
+    @Test
+    void testMarkPublishedAndDeletePublishedBefore() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList();
+        
+        tx.executeWithoutResult(status -> {
+            assertEquals(2, outboxEventRepository.markPublished(ids.subList(0, 2), now.minusDays(10)));
+            assertEquals(1, outboxEventRepository.markPublished(ids.subList(2, 3), now));
+        });
+        
+        assertEquals(List.of(ids.get(3)), tx.execute(status -> outboxEventRepository.lockUnpublished(10))
+            .stream().map(OutboxEvent::getId).toList());
+        
+        Integer deleted = tx.execute(status -> outboxEventRepository.deletePublishedBefore(now.minusDays(7)));
+        assertEquals(2, deleted);
+        assertEquals(List.of(ids.get(2), ids.get(3)), outboxEventRepository.findAll().stream()
+            .map(OutboxEvent::getId).sorted().toList());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
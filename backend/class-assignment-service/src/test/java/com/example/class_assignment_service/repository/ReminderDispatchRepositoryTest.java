@@ -0,0 +1,169 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.ClassMember;
+import com.example.class_assignment_service.model.ReminderDispatch;
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.repository.projection.DueAssignmentView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ReminderDispatchRepositoryTest {
+    
+    private static final int OFFSET_MINUTES = 60;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private ReminderDispatchRepository reminderDispatchRepository;
+    
+    @Autowired
+    private ClassMemberRepository classMemberRepository;
+    
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private ClassEntity classEntity;
+    
+    @BeforeEach
+    void setUp() {
+        classEntity = entityManager.persist(ClassEntity.builder()
+            .name("Math 101")
+            .teacherId(1L)
+            .invitationCode("MATH101")
+            .build());
+    }
+    
+    @Test
+    void testFindPendingInWindow() {
+        Assignment pending = entityManager.persist(assignment("Pending", now.plusMinutes(30)));
+        Assignment sent = entityManager.persist(assignment("Sent", now.plusMinutes(40)));
+        Assignment leased = entityManager.persist(assignment("Leased", now.plusMinutes(45)));
+        Assignment expiredLease = entityManager.persist(assignment("Expired lease", now.plusMinutes(50)));
+        entityManager.persist(assignment("Outside window", now.plusHours(3)));
+        entityManager.persist(dispatch(sent, ReminderDispatch.STATUS_SENT, now.minusMinutes(1)));
+        entityManager.persist(dispatch(leased, ReminderDispatch.STATUS_CLAIMED, now.plusMinutes(5)));
+        entityManager.persist(dispatch(expiredLease, ReminderDispatch.STATUS_CLAIMED, now.minusMinutes(5)));
+        entityManager.flush();
+        
+        List<Long> ids = reminderDispatchRepository
+            .findPendingInWindow(now, now.plusMinutes(OFFSET_MINUTES), OFFSET_MINUTES, now, PageRequest.of(0, 10))
+            .stream()
+            .map(DueAssignmentView::assignmentId)
+            .toList();
+        
+        assertEquals(List.of(pending.getId(), expiredLease.getId()), ids);
+    }
+    
+    @Test
+    void testSecondClaimOnSameReminderIsRejected() {
+        Assignment quiz = entityManager.persist(assignment("Quiz", now.plusMinutes(30)));
+        entityManager.flush();
+        
+        assertTrue(claim(quiz, "instance-a"));
+        assertFalse(claim(quiz, "instance-b"));
+        
+        List<ReminderDispatch> rows = reminderDispatchRepository.findAll();
+        assertEquals(1, rows.size());
+        assertEquals("instance-a", rows.get(0).getOwner());
+        assertEquals(ReminderDispatch.STATUS_CLAIMED, rows.get(0).getStatus());
+    }
+    
+    @Test
+    void testExpiredLeaseIsTakenOverOnce() {
+        Assignment quiz = entityManager.persist(assignment("Quiz", now.plusMinutes(30)));
+        entityManager.persist(dispatch(quiz, ReminderDispatch.STATUS_CLAIMED, now.minusMinutes(5)));
+        Assignment sent = entityManager.persist(assignment("Sent", now.plusMinutes(40)));
+        entityManager.persist(dispatch(sent, ReminderDispatch.STATUS_SENT, now.minusMinutes(5)));
+        entityManager.flush();
+        
+        assertTrue(claim(quiz, "instance-a"));
+        assertFalse(claim(quiz, "instance-b"));
+        assertFalse(claim(sent, "instance-a"));
+        
+        entityManager.clear();
+        assertEquals(2, reminderDispatchRepository.count());
+        assertEquals(1, reminderDispatchRepository.markSent(quiz.getId(), OFFSET_MINUTES, quiz.getDueTime(),
+            "instance-a", 3, now));
+        assertEquals(0, reminderDispatchRepository.markSent(quiz.getId(), OFFSET_MINUTES, quiz.getDueTime(),
+            "other-instance", 3, now));
+    }
+    
+    @Test
+    void testFindUserIdsWithoutSubmission() {
+        Assignment quiz = entityManager.persist(assignment("Quiz", now.plusMinutes(30)));
+        entityManager.persist(member(10L, ClassRole.STUDENT));
+        entityManager.persist(member(11L, ClassRole.STUDENT));
+        entityManager.persist(member(12L, ClassRole.STUDENT));
+        entityManager.persist(member(1L, ClassRole.TEACHER));
+        entityManager.persist(progress(quiz, 10L, "SUBMITTED"));
+        entityManager.persist(progress(quiz, 11L, "IN_PROGRESS"));
+        entityManager.flush();
+        
+        List<Long> studentIds = classMemberRepository.findUserIdsWithoutSubmission(
+            classEntity.getId(), ClassRole.STUDENT, quiz.getId());
+        
+        assertEquals(2, studentIds.size());
+        assertTrue(studentIds.containsAll(List.of(11L, 12L)));
+    }
+    
+    // Same two steps as DeadlineReminderService.claim
+    private boolean claim(Assignment assignment, String owner) {
+        LocalDateTime leaseUntil = now.plusMinutes(2);
+        return reminderDispatchRepository.insertClaim(assignment.getId(), OFFSET_MINUTES, assignment.getDueTime(),
+                owner, leaseUntil, now) == 1
+            || reminderDispatchRepository.takeOverExpired(assignment.getId(), OFFSET_MINUTES, assignment.getDueTime(),
+                owner, leaseUntil, now) == 1;
+    }
+    
+    private Assignment assignment(String title, LocalDateTime dueTime) {
+        return Assignment.builder()
+            .classEntity(classEntity)
+            .title(title)
+            .startTime(now.minusDays(1))
+            .dueTime(dueTime)
+            .build();
+    }
+    
+    private ReminderDispatch dispatch(Assignment assignment, String status, LocalDateTime leaseUntil) {
+        return ReminderDispatch.builder()
+            .assignmentId(assignment.getId())
+            .offsetMinutes(OFFSET_MINUTES)
+            .dueTime(assignment.getDueTime())
+            .status(status)
+            .owner("other-instance")
+            .leaseUntil(leaseUntil)
+            .build();
+    }
+    
+    private ClassMember member(Long userId, ClassRole role) {
+        return ClassMember.builder()
+            .classEntity(classEntity)
+            .userId(userId)
+            .role(role)
+            .joinedAt(now)
+            .build();
+    }
+    
+    private StudentProgress progress(Assignment assignment, Long studentId, String status) {
+        return StudentProgress.builder()
+            .assignment(assignment)
+            .studentId(studentId)
+            .status(status)
+            .build();
+    }
+}
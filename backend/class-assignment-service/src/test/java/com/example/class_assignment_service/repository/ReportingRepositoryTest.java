@@ -0,0 +1,98 @@
+package com.example.class_assignment_service.repository;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.repository.projection.ScoreFrequencyView;
+import com.example.class_assignment_service.repository.projection.StudentTotalsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ReportingRepositoryTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private ReportingRepository reportingRepository;
+    
+    private ClassEntity classEntity;
+    private Assignment quiz1;
+    private Assignment quiz2;
+    
+    @BeforeEach
+    void setUp() {
+        classEntity = entityManager.persist(ClassEntity.builder()
+            .name("Math 101")
+            .teacherId(1L)
+            .invitationCode("MATH101")
+            .build());
+        
+        quiz1 = entityManager.persist(assignment("Quiz 1"));
+        quiz2 = entityManager.persist(assignment("Quiz 2"));
+        
+        entityManager.persist(progress(quiz1, 10L, "SUBMITTED", 80));
+        entityManager.persist(progress(quiz1, 11L, "SUBMITTED", 60));
+        entityManager.persist(progress(quiz1, 12L, "IN_PROGRESS", 0));
+        entityManager.persist(progress(quiz2, 10L, "SUBMITTED", 90));
+        entityManager.flush();
+    }
+    
+    @Test
+    void testFindScoreFrequenciesByAssignmentIds() {
+        entityManager.persist(progress(quiz1, 13L, "SUBMITTED", 80));
+        entityManager.flush();
+        
+        Map<Integer, Long> frequencies = reportingRepository
+            .findScoreFrequenciesByAssignmentIds(List.of(quiz1.getId()))
+            .stream()
+            .collect(Collectors.toMap(ScoreFrequencyView::score, ScoreFrequencyView::frequency));
+        
+        assertEquals(2, frequencies.size());
+        assertEquals(2L, frequencies.get(80));
+        assertEquals(1L, frequencies.get(60));
+    }
+    
+    @Test
+    void testFindStudentTotalsByClassId() {
+        Map<Long, StudentTotalsView> totals = reportingRepository.findStudentTotalsByClassId(classEntity.getId())
+            .stream()
+            .collect(Collectors.toMap(StudentTotalsView::studentId, Function.identity()));
+        
+        assertEquals(2, totals.size());
+        assertEquals(2L, totals.get(10L).completedCount());
+        assertEquals(170L, totals.get(10L).totalScore());
+        assertEquals(60L, totals.get(11L).totalScore());
+        assertFalse(totals.containsKey(12L));
+    }
+    
+    private Assignment assignment(String title) {
+        return Assignment.builder()
+            .classEntity(classEntity)
+            .title(title)
+            .startTime(LocalDateTime.now().minusDays(1))
+            .dueTime(LocalDateTime.now().plusDays(1))
+            .build();
+    }
+    
+    private StudentProgress progress(Assignment assignment, Long studentId, String status, int score) {
+        return StudentProgress.builder()
+            .assignment(assignment)
+            .studentId(studentId)
+            .status(status)
+            .score(score)
+            .build();
+    }
+}
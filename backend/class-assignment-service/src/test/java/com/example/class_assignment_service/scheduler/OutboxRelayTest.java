@@ -0,0 +1,117 @@
+package com.example.class_assignment_service.scheduler;
+
+import com.example.class_assignment_service.model.OutboxEvent;
+import com.example.class_assignment_service.repository.OutboxEventRepository;
+import com.example.class_assignment_service.service.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Relay against the real outbox table with a mocked broker. Each run goes through a transaction template,
+ * as the scheduler's @Transactional proxy would, so a failed confirm rolls the batch back.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private TransactionTemplate tx;
+    private OutboxRelay relay;
+    
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        OutboxService outboxService = new OutboxService(jdbcTemplate, new ObjectMapper());
+        tx.executeWithoutResult(status ->
+            outboxService.enqueueNotifications("quiz_assigned", List.of(10L, 11L, 12L), Map.of("quiz_title", "Quiz 1")));
+        
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+            .thenAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+        relay = new OutboxRelay(outboxEventRepository, rabbitTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 200);
+        ReflectionTestUtils.setField(relay, "retention", Duration.ofDays(7));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> outboxEventRepository.deleteAll());
+    }
+    
+    @Test
+    void testConfirmedBatchIsMarkedPublished() {
+        tx.executeWithoutResult(status -> relay.relay());
+        
+        verify(operations, times(3)).send(eq("notification-exchange"), eq("notification.quiz_assigned"), any(Message.class));
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+        
+        // Nothing left: the next run does not touch the broker
+        tx.executeWithoutResult(status -> relay.relay());
+        verify(rabbitTemplate, times(1)).invoke(any(RabbitOperations.OperationsCallback.class));
+    }
+    
+    @Test
+    void testUnconfirmedBatchStaysUnpublished() {
+        doThrow(new AmqpTimeoutException("confirms timed out")).when(operations).waitForConfirmsOrDie(anyLong());
+        
+        assertThrows(AmqpTimeoutException.class, () -> tx.executeWithoutResult(status -> relay.relay()));
+        
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getPublishedAt() == null));
+        
+        // The rows are unlocked again and go out on the next run
+        reset(operations);
+        tx.executeWithoutResult(status -> relay.relay());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+    
+    @Test
+    void testPurgeRemovesOnlyPublishedRowsPastRetention() {
+        List<Long> ids = outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList();
+        LocalDateTime now = LocalDateTime.now();
+        tx.executeWithoutResult(status -> {
+            outboxEventRepository.markPublished(ids.subList(0, 1), now.minusDays(8));
+            outboxEventRepository.markPublished(ids.subList(1, 2), now.minusDays(1));
+        });
+        
+        tx.executeWithoutResult(status -> relay.purgePublished());
+        
+        assertEquals(ids.subList(1, 3), outboxEventRepository.findAll().stream()
+            .map(OutboxEvent::getId).sorted().toList());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.client.QuizServiceClient;
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.ClassMemberRepository;
+import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.StudentProgressRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentServiceTest {
+    
+    @Mock
+    private AssignmentRepository assignmentRepository;
+    
+    @Mock
+    private StudentProgressRepository progressRepository;
+    
+    @Mock
+    private ClassRepository classRepository;
+    
+    @Mock
+    private ClassMemberRepository classMemberRepository;
+    
+    @Mock
+    private PermissionService permissionService;
+    
+    @Mock
+    private QuizServiceClient quizServiceClient;
+    
+    @Mock
+    private LeaderboardIndexService leaderboardIndexService;
+    
+    @Mock
+    private AssignmentStatsService assignmentStatsService;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private OutboxService outboxService;
+    
+    @Mock
+    private DueIndexService dueIndexService;
+    
+    @InjectMocks
+    private AssignmentService assignmentService;
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSyncQuizSubmissionsLocksInIdOrderAndUpdatesInOneBatch() throws Exception {
+        ClassEntity classEntity = ClassEntity.builder().name("Math 101").teacherId(1L).invitationCode("MATH101").build();
+        classEntity.setId(7L);
+        Assignment quiz1 = assignment(1L, 100L, classEntity);
+        Assignment quiz2 = assignment(2L, 200L, classEntity);
+        StudentProgress p30 = progress(30L, quiz2, 11L, 903L);
+        StudentProgress p10 = progress(10L, quiz1, 10L, 901L);
+        StudentProgress p20 = progress(20L, quiz1, 11L, null);
+        when(progressRepository.findByAttemptIdIn(Set.of(901L, 902L, 903L))).thenReturn(List.of(p30, p10));
+        when(progressRepository.findByQuizIdInAndStudentIdIn(Set.of(100L), Set.of(11L))).thenReturn(List.of(p20));
+        // p10 was already submitted with 50; the others have no counted score yet
+        Map<Long, Integer> submittedScores = Map.of(10L, 50);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object id : (Object[]) invocation.getRawArguments()[2]) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn((Long) id);
+                when(rs.getString("status")).thenReturn(submittedScores.containsKey(id) ? "SUBMITTED" : "NOT_STARTED");
+                when(rs.getObject("score", Integer.class)).thenReturn(submittedScores.getOrDefault(id, 0));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, status, score"), any(RowCallbackHandler.class), any(Object[].class));
+        
+        int updated = assignmentService.syncQuizSubmissions(List.of(
+            new AssignmentService.QuizSubmission(903L, 200L, 11L, 80),
+            new AssignmentService.QuizSubmission(901L, 100L, 10L, 70),
+            new AssignmentService.QuizSubmission(902L, 100L, 11L, 90)));
+        
+        assertEquals(3, updated);
+        InOrder inOrder = inOrder(jdbcTemplate, assignmentStatsService);
+        ArgumentCaptor<Object[]> lockedIds = ArgumentCaptor.forClass(Object[].class);
+        inOrder.verify(jdbcTemplate).query(endsWith("ORDER BY id FOR UPDATE"), any(RowCallbackHandler.class), lockedIds.capture());
+        assertEquals(List.of(10L, 20L, 30L), Arrays.asList(lockedIds.getValue()));
+        ArgumentCaptor<Collection<?>> batch = ArgumentCaptor.forClass(Collection.class);
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("UPDATE student_progress"), batch.capture(), eq(3),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(3, batch.getValue().size());
+        // Stats rows are locked in assignment id order as well
+        inOrder.verify(assignmentStatsService).recordScoreChanges(1L, List.of(
+            new AssignmentStatsService.ScoreChange(50, 70), new AssignmentStatsService.ScoreChange(null, 90)));
+        inOrder.verify(assignmentStatsService).recordScoreChanges(2L, List.of(
+            new AssignmentStatsService.ScoreChange(null, 80)));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    }
+    
+    private Assignment assignment(Long id, Long quizId, ClassEntity classEntity) {
+        Assignment assignment = Assignment.builder().classEntity(classEntity).quizId(quizId).title("Quiz " + quizId).build();
+        assignment.setId(id);
+        return assignment;
+    }
+    
+    private StudentProgress progress(Long id, Assignment assignment, Long studentId, Long attemptId) {
+        StudentProgress progress = StudentProgress.builder()
+            .assignment(assignment)
+            .studentId(studentId)
+            .attemptId(attemptId)
+            .build();
+        progress.setId(id);
+        return progress;
+    }
+}
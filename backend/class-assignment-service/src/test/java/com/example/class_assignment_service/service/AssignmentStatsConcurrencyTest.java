@@ -0,0 +1,166 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.AssignmentStats;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.AssignmentStatsRepository;
+import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.StudentProgressRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent first materialization of a missing stats row. Runs outside the test transaction so that
+ * each thread commits on its own; the test profile runs H2 in PostgreSQL mode for ON CONFLICT.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AssignmentStatsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssignmentStatsConcurrencyTest {
+    
+    @Autowired
+    private AssignmentStatsService assignmentStatsService;
+    
+    @Autowired
+    private AssignmentStatsRepository statsRepository;
+    
+    @Autowired
+    private StudentProgressRepository studentProgressRepository;
+    
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    
+    @Autowired
+    private ClassRepository classRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate tx;
+    private Assignment assignment;
+    
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        // Legacy assignment: progress rows but no stats row yet
+        assignment = tx.execute(status -> {
+            ClassEntity classEntity = classRepository.save(ClassEntity.builder()
+                .name("Math 101")
+                .teacherId(1L)
+                .invitationCode("MATH101")
+                .build());
+            Assignment created = assignmentRepository.save(Assignment.builder()
+                .classEntity(classEntity)
+                .title("Legacy quiz")
+                .startTime(LocalDateTime.now().minusDays(1))
+                .dueTime(LocalDateTime.now().plusDays(1))
+                .build());
+            studentProgressRepository.save(progress(created, 10L, 50));
+            studentProgressRepository.save(progress(created, 11L, 100));
+            return created;
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            statsRepository.deleteAll();
+            studentProgressRepository.deleteAll();
+            assignmentRepository.deleteAll();
+            classRepository.deleteAll();
+        });
+    }
+    
+    @Test
+    void testConcurrentReaderAndWriterMaterializeOneRow() throws Exception {
+        CountDownLatch materialized = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        // Reader creates the row and holds its transaction open
+        CompletableFuture<AssignmentStats> reader = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            AssignmentStats stats = assignmentStatsService.getStats(List.of(assignment.getId())).get(assignment.getId());
+            materialized.countDown();
+            await(release);
+            return stats;
+        }));
+        assertTrue(materialized.await(10, TimeUnit.SECONDS));
+        
+        // Writer submits a new score; its insert conflicts with the reader's uncommitted row and waits
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            studentProgressRepository.save(progress(assignment, 12L, 70));
+            assignmentStatsService.recordScoreChange(assignment.getId(), null, 70);
+        }));
+        Thread.sleep(200);
+        assertFalse(writer.isDone());
+        release.countDown();
+        
+        assertEquals(2L, reader.get(10, TimeUnit.SECONDS).getSubmissionCount());
+        writer.get(10, TimeUnit.SECONDS);
+        
+        List<AssignmentStats> rows = statsRepository.findByAssignmentIdIn(List.of(assignment.getId()));
+        assertEquals(1, rows.size());
+        assertEquals(3L, rows.get(0).getSubmissionCount());
+        assertEquals(220L, rows.get(0).getScoreSum());
+        assertEquals(50, rows.get(0).getMinScore());
+        assertEquals(100, rows.get(0).getMaxScore());
+    }
+    
+    @Test
+    void testConcurrentFirstWritersMaterializeOneRow() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> writers = List.of(12L, 13L, 14L, 15L).stream()
+            .map(studentId -> CompletableFuture.runAsync(() -> {
+                await(start);
+                tx.executeWithoutResult(status -> {
+                    studentProgressRepository.save(progress(assignment, studentId, 80));
+                    assignmentStatsService.recordScoreChange(assignment.getId(), null, 80);
+                });
+            }))
+            .toList();
+        start.countDown();
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(20, TimeUnit.SECONDS);
+        
+        List<AssignmentStats> rows = statsRepository.findByAssignmentIdIn(List.of(assignment.getId()));
+        assertEquals(1, rows.size());
+        assertEquals(6L, rows.get(0).getSubmissionCount());
+        assertEquals(470L, rows.get(0).getScoreSum());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private StudentProgress progress(Assignment target, Long studentId, int score) {
+        return StudentProgress.builder()
+            .assignment(target)
+            .studentId(studentId)
+            .status("SUBMITTED")
+            .score(score)
+            .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.AssignmentStats;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.StudentProgress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AssignmentStatsService.class)
+class AssignmentStatsServiceTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private AssignmentStatsService assignmentStatsService;
+    
+    private Assignment assignment;
+    
+    @BeforeEach
+    void setUp() {
+        ClassEntity classEntity = entityManager.persist(ClassEntity.builder()
+            .name("Math 101")
+            .teacherId(1L)
+            .invitationCode("MATH101")
+            .build());
+        assignment = entityManager.persist(Assignment.builder()
+            .classEntity(classEntity)
+            .title("Quiz 1")
+            .startTime(LocalDateTime.now().minusDays(1))
+            .dueTime(LocalDateTime.now().plusDays(1))
+            .build());
+        assignmentStatsService.createEmpty(assignment.getId());
+    }
+    
+    @Test
+    void testRecordScoreChangeMaintainsRunningStats() {
+        submit(10L, 80);
+        submit(11L, 60);
+        submit(12L, 95);
+        
+        AssignmentStats stats = getStats();
+        assertEquals(3L, stats.getSubmissionCount());
+        assertEquals(235L, stats.getScoreSum());
+        assertEquals(60, stats.getMinScore());
+        assertEquals(95, stats.getMaxScore());
+        assertEquals(235.0 / 3, AssignmentStatsService.average(stats), 0.001);
+        assertEquals(14.337, AssignmentStatsService.standardDeviation(stats), 0.001);
+        assertEquals(1, stats.getHistogram()[6]);
+        assertEquals(1, stats.getHistogram()[8]);
+        assertEquals(1, stats.getHistogram()[9]);
+    }
+    
+    @Test
+    void testRescoringAnExtremeRecomputesMinAndMax() {
+        StudentProgress low = submit(10L, 40);
+        submit(11L, 70);
+        
+        low.setScore(90);
+        entityManager.flush();
+        assignmentStatsService.recordScoreChange(assignment.getId(), 40, 90);
+        
+        AssignmentStats stats = getStats();
+        assertEquals(2L, stats.getSubmissionCount());
+        assertEquals(70, stats.getMinScore());
+        assertEquals(90, stats.getMaxScore());
+        assertEquals(0, stats.getHistogram()[4]);
+        assertEquals(1, stats.getHistogram()[9]);
+    }
+    
+    @Test
+    void testGetStatsMaterializesMissingRows() {
+        Assignment legacy = entityManager.persist(Assignment.builder()
+            .classEntity(assignment.getClassEntity())
+            .title("Legacy quiz")
+            .startTime(LocalDateTime.now().minusDays(1))
+            .dueTime(LocalDateTime.now().plusDays(1))
+            .build());
+        entityManager.persist(progress(legacy, 10L, 50));
+        entityManager.persist(progress(legacy, 11L, 100));
+        entityManager.flush();
+        
+        AssignmentStats stats = assignmentStatsService.getStats(List.of(legacy.getId())).get(legacy.getId());
+        
+        assertEquals(2L, stats.getSubmissionCount());
+        assertEquals(50, stats.getMinScore());
+        assertEquals(100, stats.getMaxScore());
+        assertEquals(1, stats.getHistogram()[5]);
+        assertEquals(1, stats.getHistogram()[9]);
+    }
+    
+    private StudentProgress submit(Long studentId, int score) {
+        StudentProgress progress = entityManager.persist(progress(assignment, studentId, score));
+        entityManager.flush();
+        assignmentStatsService.recordScoreChange(assignment.getId(), null, score);
+        return progress;
+    }
+    
+    private AssignmentStats getStats() {
+        entityManager.flush();
+        entityManager.clear();
+        return assignmentStatsService.getStats(List.of(assignment.getId())).get(assignment.getId());
+    }
+    
+    private StudentProgress progress(Assignment target, Long studentId, int score) {
+        return StudentProgress.builder()
+            .assignment(target)
+            .studentId(studentId)
+            .status("SUBMITTED")
+            .score(score)
+            .build();
+    }
+}
@@ -4,16 +4,20 @@ import com.example.class_assignment_service.dto.request.CreateClassRequest;
 import com.example.class_assignment_service.dto.response.ClassResponse;
 import com.example.class_assignment_service.model.ClassEntity;
 import com.example.class_assignment_service.model.ClassMember;
-import com.example.class_assignment_service.model.enums.MemberRole;
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.model.enums.ClassStatus;
 import com.example.class_assignment_service.repository.ClassMemberRepository;
 import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.projection.MyClassView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +36,15 @@ class ClassServiceTest {
     @Mock
     private PermissionService permissionService;
     
+    @Mock
+    private MembershipCacheService membershipCacheService;
+    
+    @Mock
+    private DueIndexService dueIndexService;
+    
+    @Mock
+    private LeaderboardIndexService leaderboardIndexService;
+    
     @InjectMocks
     private ClassService classService;
     
@@ -48,24 +61,32 @@ class ClassServiceTest {
             .build();
         
         classEntity = ClassEntity.builder()
-            .id(1L)
             .name("Test Class")
             .description("Test Description")
-            .subject("Math")
-            .createdBy(userId)
+            .topic("Math")
+            .teacherId(userId)
+            .invitationCode("TESTCODE")
+            .memberCount(12)
+            .assignmentCount(3)
             .build();
+        classEntity.setId(1L);
     }
     
     @Test
     void testCreateClass() {
-        when(classRepository.save(any(ClassEntity.class))).thenReturn(classEntity);
+        when(classRepository.save(any(ClassEntity.class))).thenAnswer(invocation -> {
+            ClassEntity saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
         when(classMemberRepository.save(any(ClassMember.class))).thenReturn(new ClassMember());
-        when(classMemberRepository.countByClassIdAndRole(anyLong(), any())).thenReturn(1L);
         
         ClassResponse response = classService.createClass(createClassRequest, userId);
         
         assertNotNull(response);
         assertEquals("Test Class", response.getName());
+        assertEquals(1, response.getMemberCount());
+        assertEquals(0, response.getAssignmentCount());
         verify(classRepository, times(1)).save(any(ClassEntity.class));
         verify(classMemberRepository, times(1)).save(any(ClassMember.class));
     }
@@ -74,12 +95,42 @@ class ClassServiceTest {
     void testGetClassById() {
         when(classRepository.findById(1L)).thenReturn(Optional.of(classEntity));
         doNothing().when(permissionService).checkMemberAccess(1L, userId);
-        when(classMemberRepository.countByClassIdAndRole(anyLong(), any())).thenReturn(1L);
         
         ClassResponse response = classService.getClassById(1L, userId);
         
         assertNotNull(response);
         assertEquals("Test Class", response.getName());
+        assertEquals(12, response.getMemberCount());
+        assertEquals(3, response.getAssignmentCount());
+        verifyNoInteractions(classMemberRepository);
+    }
+    
+    @Test
+    void testJoinClassIncrementsMemberCount() {
+        when(classRepository.findByInvitationCode("TESTCODE")).thenReturn(Optional.of(classEntity));
+        when(classMemberRepository.existsByClassEntityIdAndUserId(1L, 7L)).thenReturn(false);
+        
+        ClassResponse response = classService.joinClassByInvitationCode("TESTCODE", 7L);
+        
+        verify(classRepository).adjustMemberCount(1L, 1);
+        verify(dueIndexService).invalidate(7L);
+        verify(leaderboardIndexService).refreshStudent(1L, 7L);
+        assertEquals(13, response.getMemberCount());
+    }
+    
+    @Test
+    void testGetClassesByUserMapsProjection() {
+        MyClassView taught = new MyClassView(2L, "Taught", null, "Math", "ACTIVE", "CODE2", userId,
+            null, null, 5, 1, ClassRole.TEACHER);
+        MyClassView joined = new MyClassView(1L, "Joined", null, "Physics", null, "CODE1", 9L,
+            null, null, 30, 4, ClassRole.STUDENT);
+        when(classRepository.findClassViewsByUser(userId, null, null, Limit.of(2))).thenReturn(List.of(taught, joined));
+        
+        List<ClassResponse> responses = classService.getClassesByUser(userId, "", null, 2);
+        
+        assertEquals(List.of("TEACHER", "STUDENT"), responses.stream().map(ClassResponse::getUserRole).toList());
+        assertEquals(30, responses.get(1).getMemberCount());
+        assertEquals(ClassStatus.ACTIVE, responses.get(1).getStatus());
+        verifyNoInteractions(classMemberRepository, permissionService);
     }
 }
-
@@ -0,0 +1,61 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.repository.ClassMemberRepository;
+import com.example.class_assignment_service.repository.ReminderDispatchRepository;
+import com.example.class_assignment_service.repository.projection.DueAssignmentView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineReminderServiceTest {
+    
+    @Mock
+    private ReminderDispatchRepository reminderDispatchRepository;
+    
+    @Mock
+    private ClassMemberRepository classMemberRepository;
+    
+    @Mock
+    private OutboxService outboxService;
+    
+    @InjectMocks
+    private DeadlineReminderService deadlineReminderService;
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReminderReportsTimeLeftNotOffset() {
+        // Created 3h before its deadline, so it is picked up in the 24h window
+        DueAssignmentView assignment = new DueAssignmentView(1L, "Quiz", 2L, "Math", LocalDateTime.now().plusHours(3));
+        when(classMemberRepository.findUserIdsWithoutSubmission(2L, ClassRole.STUDENT, 1L)).thenReturn(List.of(10L));
+        when(reminderDispatchRepository.markSent(eq(1L), eq(24 * 60), any(), eq("owner"), eq(1), any())).thenReturn(1);
+        
+        assertEquals(1, deadlineReminderService.send(assignment, Duration.ofHours(24), "owner"));
+        
+        ArgumentCaptor<Map<String, Object>> data = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).enqueueNotifications(eq("deadline_reminder"), eq(List.of(10L)), data.capture());
+        assertEquals(3L, data.getValue().get("hoursLeft"));
+    }
+    
+    @Test
+    void testHoursLeftRoundsUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 10, 8, 0);
+        
+        assertEquals(1, DeadlineReminderService.hoursLeft(now, now.plusMinutes(20)));
+        assertEquals(24, DeadlineReminderService.hoursLeft(now, now.plusHours(24)));
+        assertEquals(0, DeadlineReminderService.hoursLeft(now, now.minusMinutes(5)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.projection.UpcomingAssignmentView;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the index scripts against a real redis-server. Writes that race a build are
+ * issued from inside the snapshot query, after it has read the database.
+ */
+class DueIndexServiceTest {
+
+    private static final Long STUDENT = 10L;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private AssignmentRepository assignmentRepository;
+    private DueIndexService dueIndexService;
+    private LocalDateTime due;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        assignmentRepository = mock(AssignmentRepository.class);
+        dueIndexService = new DueIndexService(redisTemplate, assignmentRepository);
+        ReflectionTestUtils.setField(dueIndexService, "ttl", Duration.ofHours(24));
+        due = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void testAssignmentAddedDuringBuildIsKept() {
+        when(assignmentRepository.findUpcomingForStudent(eq(STUDENT), any(), eq(Limit.unlimited()))).thenAnswer(invocation -> {
+            dueIndexService.addAssignment(2L, due.plusHours(1), List.of(STUDENT));
+            return List.of(new UpcomingAssignmentView(1L, due));
+        });
+
+        assertEquals(List.of(1L, 2L), dueIndexService.getUpcoming(STUDENT, 10));
+    }
+
+    @Test
+    void testSubmissionDuringBuildIsApplied() {
+        when(assignmentRepository.findUpcomingForStudent(eq(STUDENT), any(), eq(Limit.unlimited()))).thenAnswer(invocation -> {
+            dueIndexService.removeAssignment(STUDENT, 2L);
+            return List.of(new UpcomingAssignmentView(1L, due), new UpcomingAssignmentView(2L, due.plusHours(1)));
+        });
+
+        assertEquals(List.of(1L), dueIndexService.getUpcoming(STUDENT, 10));
+    }
+
+    @Test
+    void testInvalidationDuringBuildLeavesIndexUnbuilt() {
+        when(assignmentRepository.findUpcomingForStudent(eq(STUDENT), any(), eq(Limit.unlimited()))).thenAnswer(invocation -> {
+            dueIndexService.invalidate(STUDENT);
+            return List.of(new UpcomingAssignmentView(1L, due));
+        });
+        when(assignmentRepository.findUpcomingForStudent(eq(STUDENT), any(), eq(Limit.of(10))))
+            .thenReturn(List.of(new UpcomingAssignmentView(1L, due)));
+
+        assertEquals(List.of(1L), dueIndexService.getUpcoming(STUDENT, 10));
+        assertNotEquals(Boolean.TRUE, redisTemplate.hasKey("due:" + STUDENT + ":ready"));
+    }
+
+    @Test
+    void testAddToEmptyIndexSetsTtl() {
+        when(assignmentRepository.findUpcomingForStudent(eq(STUDENT), any(), eq(Limit.unlimited()))).thenReturn(List.of());
+        assertEquals(List.of(), dueIndexService.getUpcoming(STUDENT, 10));
+
+        dueIndexService.addAssignment(3L, due, List.of(STUDENT));
+
+        Long ttl = redisTemplate.getExpire("due:" + STUDENT);
+        assertNotNull(ttl);
+        assertTrue(ttl > 0);
+        assertEquals(List.of(3L), dueIndexService.getUpcoming(STUDENT, 10));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.exception.AppException;
+import com.example.class_assignment_service.exception.ErrorCode;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.ClassRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GradebookExportServiceTest {
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private PermissionService permissionService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GradebookExportService gradebookExportService;
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    void testMissingClassDoesNotOpenOutput() {
+        when(classRepository.findById(1L)).thenReturn(Optional.empty());
+
+        AppException e = assertThrows(AppException.class, () -> gradebookExportService.exportGradebook(1L, 2L, this::open));
+
+        assertEquals(ErrorCode.CLASS_NOT_FOUND, e.getErrorCode());
+        assertEquals(0, opened.get());
+    }
+
+    @Test
+    void testForbiddenUserDoesNotOpenOutput() {
+        when(classRepository.findById(1L)).thenReturn(Optional.of(ClassEntity.builder().name("Math").build()));
+        doThrow(new AppException(ErrorCode.FORBIDDEN)).when(permissionService).checkTeacherOrTA(1L, 2L);
+
+        assertThrows(AppException.class, () -> gradebookExportService.exportGradebook(1L, 2L, this::open));
+        assertEquals(0, opened.get());
+    }
+
+    @Test
+    void testExportOpensOutputOnce() {
+        when(classRepository.findById(1L)).thenReturn(Optional.of(ClassEntity.builder().name("Math").build()));
+        when(assignmentRepository.findByClassEntityId(1L)).thenReturn(new ArrayList<>());
+
+        gradebookExportService.exportGradebook(1L, 2L, this::open);
+
+        assertEquals(1, opened.get());
+        byte[] xlsx = out.toByteArray();
+        assertTrue(xlsx.length > 2 && xlsx[0] == 'P' && xlsx[1] == 'K');
+    }
+
+    private ByteArrayOutputStream open() {
+        opened.incrementAndGet();
+        return out;
+    }
+}
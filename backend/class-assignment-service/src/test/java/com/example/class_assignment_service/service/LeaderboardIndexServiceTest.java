@@ -0,0 +1,247 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.Assignment;
+import com.example.class_assignment_service.model.ClassEntity;
+import com.example.class_assignment_service.model.ClassMember;
+import com.example.class_assignment_service.model.StudentProgress;
+import com.example.class_assignment_service.model.enums.ClassRole;
+import com.example.class_assignment_service.repository.AssignmentRepository;
+import com.example.class_assignment_service.repository.ClassMemberRepository;
+import com.example.class_assignment_service.repository.ClassRepository;
+import com.example.class_assignment_service.repository.ReportingRepository;
+import com.example.class_assignment_service.repository.StudentProgressRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the index scripts against a real redis-server, with totals read from H2
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LeaderboardIndexServiceTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ClassMemberRepository classMemberRepository;
+
+    @Autowired
+    private StudentProgressRepository progressRepository;
+
+    @Autowired
+    private ReportingRepository reportingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ClassEntity classEntity;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        classEntity = classRepository.save(ClassEntity.builder()
+            .name("Math 101")
+            .teacherId(1L)
+            .invitationCode("MATH101")
+            .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        progressRepository.deleteAll();
+        classMemberRepository.deleteAll();
+        assignmentRepository.deleteAll();
+        classRepository.deleteAll();
+    }
+
+    @Test
+    void testStaleWriteDoesNotOverwriteRebuild() throws Exception {
+        Assignment quiz1 = assignmentRepository.save(assignment("Quiz 1"));
+        Assignment quiz2 = assignmentRepository.save(assignment("Quiz 2"));
+        member(10L, ClassRole.STUDENT);
+        progressRepository.save(progress(quiz1, 10L, 50));
+
+        // The writer reads its totals, then stalls before writing them to Redis
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportingRepository stallingRepository = mock(ReportingRepository.class, delegatesTo(reportingRepository));
+        doAnswer(invocation -> {
+            Object totals = reportingRepository.findMemberTotalsByClassIdAndStudentIds(
+                invocation.getArgument(0), invocation.getArgument(1));
+            read.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return totals;
+        }).when(stallingRepository).findMemberTotalsByClassIdAndStudentIds(anyLong(), any(Collection.class));
+
+        LeaderboardIndexService staleWriter = service(stallingRepository);
+        LeaderboardIndexService index = service(reportingRepository);
+
+        CompletableFuture<Void> write = CompletableFuture.runAsync(
+            () -> staleWriter.refreshStudent(classEntity.getId(), 10L));
+        assertTrue(read.await(10, TimeUnit.SECONDS));
+
+        progressRepository.save(progress(quiz2, 10L, 30));
+        index.rebuild(classEntity.getId());
+        release.countDown();
+        write.get(10, TimeUnit.SECONDS);
+
+        LeaderboardIndexService.Standing standing = index.getStanding(classEntity.getId(), 10L);
+        assertEquals(80.0, standing.totalScore());
+        assertEquals(2, standing.completedAssignments());
+    }
+
+    @Test
+    void testOnlyCurrentStudentsAreRanked() {
+        Assignment quiz = assignmentRepository.save(assignment("Quiz 1"));
+        member(10L, ClassRole.STUDENT);
+        ClassMember leaving = member(11L, ClassRole.STUDENT);
+        progressRepository.save(progress(quiz, 10L, 50));
+        progressRepository.save(progress(quiz, 11L, 70));
+        progressRepository.save(progress(quiz, 12L, 90));
+
+        LeaderboardIndexService index = service(reportingRepository);
+        assertEquals(2, index.getStandings(classEntity.getId()).size());
+        assertEquals(1, index.getStanding(classEntity.getId(), 11L).rank());
+        assertEquals(2, index.getStanding(classEntity.getId(), 10L).rank());
+
+        classMemberRepository.delete(leaving);
+        index.refreshStudent(classEntity.getId(), 11L);
+
+        assertEquals(1, index.getStandings(classEntity.getId()).size());
+        assertEquals(1, index.getStanding(classEntity.getId(), 10L).rank());
+    }
+
+    @Test
+    void testRejoiningStudentKeepsEarlierScores() {
+        Assignment quiz = assignmentRepository.save(assignment("Quiz 1"));
+        member(10L, ClassRole.STUDENT);
+        ClassMember returning = member(11L, ClassRole.STUDENT);
+        progressRepository.save(progress(quiz, 10L, 50));
+        progressRepository.save(progress(quiz, 11L, 70));
+
+        LeaderboardIndexService index = service(reportingRepository);
+        index.rebuild(classEntity.getId());
+        classMemberRepository.delete(returning);
+        index.refreshStudent(classEntity.getId(), 11L);
+        assertEquals(2, index.getStanding(classEntity.getId(), 11L).rank());
+
+        // Rejoin through the invitation path, which keeps the old student_progress rows
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            member(11L, ClassRole.STUDENT);
+            index.refreshStudent(classEntity.getId(), 11L);
+        });
+
+        LeaderboardIndexService.Standing standing = index.getStanding(classEntity.getId(), 11L);
+        assertEquals(1, standing.rank());
+        assertEquals(70.0, standing.totalScore());
+    }
+
+    @Test
+    void testIndexKeysExpireTogether() {
+        Assignment quiz = assignmentRepository.save(assignment("Quiz 1"));
+        member(10L, ClassRole.STUDENT);
+        progressRepository.save(progress(quiz, 10L, 50));
+
+        service(reportingRepository).rebuild(classEntity.getId());
+
+        for (String suffix : List.of("score", "completed", "applied", "ready")) {
+            Long ttl = redisTemplate.getExpire("leaderboard:" + classEntity.getId() + ":" + suffix);
+            assertNotNull(ttl);
+            assertTrue(ttl > 0 && ttl <= Duration.ofHours(1).toSeconds(), suffix + " ttl " + ttl);
+        }
+        assertEquals(-1L, redisTemplate.getExpire("leaderboard:" + classEntity.getId() + ":ticket"));
+    }
+
+    private LeaderboardIndexService service(ReportingRepository repository) {
+        LeaderboardIndexService service = new LeaderboardIndexService(redisTemplate, repository, classRepository, transactionManager);
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofHours(1));
+        return service;
+    }
+
+    private ClassMember member(Long userId, ClassRole role) {
+        return classMemberRepository.save(ClassMember.builder()
+            .classEntity(classEntity)
+            .userId(userId)
+            .role(role)
+            .build());
+    }
+
+    private Assignment assignment(String title) {
+        return Assignment.builder()
+            .classEntity(classEntity)
+            .title(title)
+            .startTime(LocalDateTime.now().minusDays(1))
+            .dueTime(LocalDateTime.now().plusDays(1))
+            .build();
+    }
+
+    private StudentProgress progress(Assignment assignment, Long studentId, int score) {
+        return StudentProgress.builder()
+            .assignment(assignment)
+            .studentId(studentId)
+            .status("SUBMITTED")
+            .score(score)
+            .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.class_assignment_service.service;
+
+import com.example.class_assignment_service.model.enums.ClassRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipCacheServiceTest {
+    
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private MembershipCacheService cacheService;
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new MembershipCacheService(redisTemplate, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+    
+    @Test
+    void getRole_SecondLookupIsServedFromCache() {
+        assertEquals(Optional.of(ClassRole.TEACHER), cacheService.getRole(1L, 2L, this::loadTeacher));
+        assertEquals(Optional.of(ClassRole.TEACHER), cacheService.getRole(1L, 2L, this::loadTeacher));
+        
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "class-membership").tag("result", "hit").functionCounter().count());
+    }
+    
+    @Test
+    void invalidate_EvictsLocallyAndBroadcasts() {
+        cacheService.getRole(1L, 2L, this::loadTeacher);
+        
+        cacheService.invalidate(1L, 2L);
+        cacheService.getRole(1L, 2L, this::loadTeacher);
+        
+        assertEquals(2, loads.get());
+        verify(redisTemplate).convertAndSend(MembershipCacheService.INVALIDATION_CHANNEL, "1:2");
+    }
+    
+    @Test
+    void handleInvalidation_WholeClassEvictsOnlyThatClass() {
+        cacheService.getRole(1L, 2L, this::loadTeacher);
+        cacheService.getRole(1L, 3L, this::loadTeacher);
+        cacheService.getRole(9L, 2L, this::loadTeacher);
+        
+        cacheService.handleInvalidation("1:*");
+        cacheService.getRole(1L, 2L, this::loadTeacher);
+        cacheService.getRole(1L, 3L, this::loadTeacher);
+        cacheService.getRole(9L, 2L, this::loadTeacher);
+        
+        assertEquals(5, loads.get());
+    }
+    
+    private Optional<ClassRole> loadTeacher() {
+        loads.incrementAndGet();
+        return Optional.of(ClassRole.TEACHER);
+    }
+}
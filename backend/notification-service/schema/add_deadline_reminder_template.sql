@@ -0,0 +1,21 @@
+-- Add the deadline_reminder template used by class-assignment-service reminders
+-- The worker looks templates up by notification type in email_templates (models.Template); safe to re-run
+INSERT INTO email_templates (name, subject, body_html, body_text, channel, created_at, updated_at)
+VALUES ('deadline_reminder',
+        'Nhắc hạn nộp bài: {{.assignmentTitle}}',
+        '<div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
+    <h1>Nhắc hạn nộp bài</h1>
+    <p>Xin chào,</p>
+    <p>Bạn chưa nộp bài <strong>{{.assignmentTitle}}</strong>.</p>
+    <p>Lớp: {{.className}}</p>
+    <p>Hạn nộp: <strong>{{.deadline}}</strong></p>
+    <p>Với trân trọng,<br>Đội ngũ Quiz Platform</p>
+</div>',
+        'Nhắc hạn: {{.assignmentTitle}} ({{.className}}) hết hạn lúc {{.deadline}}',
+        'email', NOW(), NOW())
+ON CONFLICT (name) DO UPDATE
+SET subject = EXCLUDED.subject,
+    body_html = EXCLUDED.body_html,
+    body_text = EXCLUDED.body_text,
+    channel = EXCLUDED.channel,
+    updated_at = NOW();
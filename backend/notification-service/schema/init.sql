@@ -82,6 +82,11 @@ INSERT INTO templates (name, subject, body_html, body_text, channel) VALUES
 ('quiz_result', 'Quiz Result - Quiz App',
  '<div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;"><h1>Quiz Result</h1><p>Hello {{.student_name}},</p><p>Your quiz results are ready!</p><p>Quiz: <strong>{{.quiz_title}}</strong></p><p>Score: <strong>{{.score}}/{{.max_score}}</strong></p><p><a href="{{.result_url}}">View Details</a></p></div>',
  'Quiz result: {{.quiz_title}}. Score: {{.score}}/{{.max_score}}',
+ 'email'),
+
+('deadline_reminder', 'Deadline Reminder: {{.assignmentTitle}} - Quiz App',
+ '<div style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;"><h1>Deadline Reminder</h1><p>Hello,</p><p>You have not submitted <strong>{{.assignmentTitle}}</strong> yet.</p><p>Class: {{.className}}</p><p>Due date: {{.deadline}}</p></div>',
+ 'Reminder: {{.assignmentTitle}} ({{.className}}) is due {{.deadline}}',
  'email');
 
 -- Sample preferences (default for all users)
@@ -27,11 +27,39 @@ CREATE TABLE users (
 );
 
 -- Invalid tokens (for logout/revoke functionality)
+-- Partitioned by expiry day: a partition is dropped as a whole once all its tokens have expired
+-- (see InvalidTokenCleanupTask). Keys must include the partition column.
 CREATE TABLE invalid_tokens (
-    id BIGSERIAL PRIMARY KEY,
-    token VARCHAR(512) NOT NULL UNIQUE,
+    id BIGSERIAL,
+    token VARCHAR(512) NOT NULL,
     expiration_time TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP DEFAULT NOW(),
+    PRIMARY KEY (id, expiration_time),
+    UNIQUE (token, expiration_time)
+) PARTITION BY RANGE (expiration_time);
+
+-- Catches rows outside the pre-created daily partitions; purged in chunks
+CREATE TABLE invalid_tokens_default PARTITION OF invalid_tokens DEFAULT;
+
+-- Daily partition covering [day, day + 1)
+CREATE OR REPLACE FUNCTION create_invalid_tokens_partition(day DATE) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF invalid_tokens FOR VALUES FROM (%L) TO (%L)',
+        'invalid_tokens_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_invalid_tokens_partition(CURRENT_DATE + i) FROM generate_series(0, 7) AS i;
+
+-- RS256 token signing keys (private JWK, AES-GCM encrypted); the newest row signs, older rows stay published for verification
+CREATE TABLE signing_keys (
+    id BIGSERIAL PRIMARY KEY,
+    kid VARCHAR(255) NOT NULL UNIQUE,
+    jwk TEXT NOT NULL,
+    rotated_from VARCHAR(255) UNIQUE,
+    created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW()
 );
 
@@ -52,7 +80,11 @@ CREATE TABLE password_reset_tokens (
 
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_users_role ON users(role);
-CREATE INDEX idx_invalid_tokens_token ON invalid_tokens(token);
+-- Keyset scrolling of /users/all by full name (id breaks ties)
+CREATE INDEX idx_users_full_name_id ON users(full_name, id);
+-- Trigram index for ranked name search (similarity, ILIKE '%x%' and nearest-first <-> ordering)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_users_full_name_trgm_gist ON users USING GIST (full_name gist_trgm_ops);
 CREATE INDEX idx_invalid_tokens_expiration ON invalid_tokens(expiration_time);
 CREATE INDEX idx_password_reset_tokens_token ON password_reset_tokens(token);
 CREATE INDEX idx_password_reset_tokens_user_id ON password_reset_tokens(user_id);
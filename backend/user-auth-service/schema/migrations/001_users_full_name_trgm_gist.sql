@@ -0,0 +1,14 @@
+-- ============================================================
+-- GiST trigram index for ranked user search
+-- Replaces the GIN index that UserSearchRepository used to create on startup: GiST serves the same
+-- % and ILIKE filters and also returns rows nearest first (ORDER BY full_name <-> ?).
+-- CONCURRENTLY does not block writes to users but cannot run inside a transaction block,
+-- so run this file with plain psql (no -1 / --single-transaction). Safe to re-run.
+-- ============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- A failed concurrent build leaves an INVALID index behind; drop it and re-run this file
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_full_name_trgm_gist ON users USING GIST (full_name gist_trgm_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_full_name_trgm;
@@ -0,0 +1,53 @@
+-- ============================================================
+-- Partition invalid_tokens by expiry day
+-- init.sql only creates the partitioned table on fresh databases; ddl-auto: update keeps an existing
+-- plain table as it is, and InvalidTokenCleanupTask then only purges it in chunks.
+-- This recreates the table as in init.sql and copies back the unexpired rows. It holds an exclusive lock
+-- on invalid_tokens while it runs (rows are short-lived, so few are left to copy).
+-- Run with: psql -1 -f schema/migrations/002_partition_invalid_tokens.sql. Safe to re-run.
+-- ============================================================
+
+CREATE OR REPLACE FUNCTION create_invalid_tokens_partition(day DATE) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF invalid_tokens FOR VALUES FROM (%L) TO (%L)',
+        'invalid_tokens_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    max_id BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'invalid_tokens') THEN
+        RAISE NOTICE 'invalid_tokens is already partitioned';
+        RETURN;
+    END IF;
+
+    LOCK TABLE invalid_tokens IN ACCESS EXCLUSIVE MODE;
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM invalid_tokens;
+    CREATE TEMP TABLE invalid_tokens_unexpired ON COMMIT DROP AS
+        SELECT id, token, expiration_time, created_at, updated_at
+        FROM invalid_tokens
+        WHERE expiration_time >= NOW();
+    DROP TABLE invalid_tokens;
+
+    -- Same layout as init.sql
+    CREATE TABLE invalid_tokens (
+        id BIGSERIAL,
+        token VARCHAR(512) NOT NULL,
+        expiration_time TIMESTAMP NOT NULL,
+        created_at TIMESTAMP DEFAULT NOW(),
+        updated_at TIMESTAMP DEFAULT NOW(),
+        PRIMARY KEY (id, expiration_time),
+        UNIQUE (token, expiration_time)
+    ) PARTITION BY RANGE (expiration_time);
+    CREATE TABLE invalid_tokens_default PARTITION OF invalid_tokens DEFAULT;
+    PERFORM create_invalid_tokens_partition(CURRENT_DATE + i) FROM generate_series(0, 7) AS i;
+    CREATE INDEX idx_invalid_tokens_expiration ON invalid_tokens(expiration_time);
+
+    INSERT INTO invalid_tokens (id, token, expiration_time, created_at, updated_at)
+    SELECT id, token, expiration_time, created_at, updated_at FROM invalid_tokens_unexpired;
+    PERFORM setval(pg_get_serial_sequence('invalid_tokens', 'id'), max_id + 1, false);
+END $$;
@@ -1,29 +1,26 @@
 package com.quizapp.user_auth_service.config;
 
 
-import com.quizapp.user_auth_service.dto.request.IntrospectRequest;
-import com.quizapp.user_auth_service.dto.response.IntrospectResponse;
-import com.quizapp.user_auth_service.service.impl.AuthenticationServiceImpl;
+import com.nimbusds.jwt.SignedJWT;
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.service.JwtTokenVerifier;
 import lombok.RequiredArgsConstructor;
-import lombok.experimental.NonFinal;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.spec.SecretKeySpec;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 public class CustomJwtDecoder implements JwtDecoder {
-    @NonFinal
-    private static final String SIGN = "5020f057d0d31c44d2397a3265c89b86b95a1903160610e290786cfe36e43e7b";
 
-    private final AuthenticationServiceImpl authenticationService;
-
-    private NimbusJwtDecoder jwtDecoder;
+    private final JwtTokenVerifier tokenVerifier;
 
     @Override
     public Jwt decode(String token) throws JwtException {
@@ -32,24 +29,24 @@ public class CustomJwtDecoder implements JwtDecoder {
         }
 
         try {
-            IntrospectResponse response = authenticationService.introspectToken(
-                    IntrospectRequest.builder().token(token).build());
-
-
-            if (!response.isActive()) {
-                throw new JwtException("Token is not active");
-            }
+            // Parsed and verified once; the Jwt is built from the same parsed claims
+            SignedJWT signedJWT = tokenVerifier.verify(token);
+            return toJwt(token, signedJWT);
+        } catch (AppException e) {
+            throw new BadJwtException("Token is not active: " + e.getMessage(), e);
+        } catch (ParseException e) {
+            throw new BadJwtException("Failed to decode JWT: " + e.getMessage(), e);
+        }
+    }
 
+    private Jwt toJwt(String token, SignedJWT signedJWT) throws ParseException {
+        Map<String, Object> claims = new HashMap<>(signedJWT.getJWTClaimsSet().getClaims());
+        // Spring's Jwt expects Instant timestamps
+        claims.replaceAll((name, value) -> value instanceof Date date ? date.toInstant() : value);
 
-            if (jwtDecoder == null) {
-                SecretKeySpec secretKeySpec = new SecretKeySpec(SIGN.getBytes(), "HS512");
-                jwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                        .macAlgorithm(MacAlgorithm.HS512)
-                        .build();
-            }
-            return jwtDecoder.decode(token);
-        } catch (Exception e) {
-            throw new JwtException("Failed to decode JWT: " + e.getMessage(), e);
-        }
+        return Jwt.withTokenValue(token)
+                .headers(headers -> headers.putAll(signedJWT.getHeader().toJSONObject()))
+                .claims(jwtClaims -> jwtClaims.putAll(claims))
+                .build();
     }
-}
\ No newline at end of file
+}
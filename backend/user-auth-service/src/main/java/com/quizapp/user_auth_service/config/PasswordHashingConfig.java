@@ -0,0 +1,34 @@
+package com.quizapp.user_auth_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * BCrypt is pure CPU work: one thread per core and a small bounded queue,
+     * so a login burst cannot take over the request threads serving everything else
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -1,5 +1,10 @@
 package com.quizapp.user_auth_service.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -17,6 +22,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 @Slf4j
 public class RabbitConfig {
 
+	public static final String TOKEN_REVOKED_EXCHANGE = "auth.token-revoked";
+
 	@Value("${app.notification.exchange}")
 	private String notificationExchangeName;
 
@@ -52,6 +59,20 @@ public class RabbitConfig {
 	public TopicExchange notificationExchange() {
 		return new TopicExchange(notificationExchangeName, true, false);
 	}
-}
 
+	// Token revocations are broadcast to every replica of this service
+	@Bean
+	public FanoutExchange tokenRevokedExchange() {
+		return new FanoutExchange(TOKEN_REVOKED_EXCHANGE, true, false);
+	}
+
+	@Bean
+	public Queue tokenRevocationQueue() {
+		return new AnonymousQueue();
+	}
 
+	@Bean
+	public Binding tokenRevocationBinding(Queue tokenRevocationQueue, FanoutExchange tokenRevokedExchange) {
+		return BindingBuilder.bind(tokenRevocationQueue).to(tokenRevokedExchange);
+	}
+}
@@ -41,8 +41,11 @@ public class SecurityConfig {
                         authorizeRequests
                                 .requestMatchers(HttpMethod.POST, PUBLIC_POST_URL).permitAll()
                                 .requestMatchers("/error").permitAll()
-                                .requestMatchers("/actuator/**").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/users").hasAnyAuthority("SCOPE_user:read")
+                                // Health checks stay public; metrics and the rest of actuator are admin-only
+                                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                                .requestMatchers("/actuator/**").hasAnyAuthority("SCOPE_admin:read")
+                                .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/users", "/users/search").hasAnyAuthority("SCOPE_user:read")
                                 .requestMatchers(HttpMethod.GET, "/users/all").hasAnyAuthority("SCOPE_admin:read")
                                 .requestMatchers(HttpMethod.GET, "/users/profile").authenticated()
                                 .requestMatchers(HttpMethod.PUT, "/users/profile").authenticated()
@@ -10,6 +10,7 @@ import com.quizapp.user_auth_service.dto.response.AuthResponse;
 import com.quizapp.user_auth_service.dto.response.IntrospectResponse;
 import com.quizapp.user_auth_service.service.impl.AuthenticationServiceImpl;
 import com.quizapp.user_auth_service.service.PasswordResetService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,10 +27,10 @@ public class AuthenticationController {
     private final PasswordResetService passwordResetService;
 
     @PostMapping("/login")
-    public ApiResponse<AuthResponse> login(@RequestBody @Valid AuthRequest authRequest) {
+    public ApiResponse<AuthResponse> login(@RequestBody @Valid AuthRequest authRequest, HttpServletRequest request) {
         log.info("Login attempt for email: {}", authRequest.getEmail());
         
-        AuthResponse authResponse = authenticationService.authenticateUser(authRequest);
+        AuthResponse authResponse = authenticationService.authenticateUser(authRequest, clientIp(request));
         
         return ApiResponse.<AuthResponse>builder()
                 .status(HttpStatus.OK.value())
@@ -104,4 +105,9 @@ public class AuthenticationController {
                 .build();
     }
 
+    // Tomcat's RemoteIpValve (server.forward-headers-strategy) already resolved X-Forwarded-For: it walks the list
+    // from the right and stops at the first hop that is not a trusted proxy, so client-supplied entries are ignored
+    private String clientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
 }
@@ -0,0 +1,32 @@
+package com.quizapp.user_auth_service.controller;
+
+import com.quizapp.user_auth_service.service.SigningKeyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Public keys for verifying access tokens offline
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyService signingKeyService;
+
+    @Value("${app.jwt.jwks-max-age:300}")
+    private long jwksMaxAgeSeconds;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(jwksMaxAgeSeconds)).cachePublic())
+                .body(signingKeyService.jwksJson());
+    }
+}
@@ -3,6 +3,7 @@ package com.quizapp.user_auth_service.controller;
 import com.quizapp.user_auth_service.dto.request.UpdateUserRequest;
 import com.quizapp.user_auth_service.dto.request.UserRequest;
 import com.quizapp.user_auth_service.dto.response.ApiResponse;
+import com.quizapp.user_auth_service.dto.response.CursorPageResponse;
 import com.quizapp.user_auth_service.dto.response.PageResponse;
 import com.quizapp.user_auth_service.dto.response.UserResponse;
 import com.quizapp.user_auth_service.service.UserService;
@@ -37,6 +38,20 @@ public class UserController {
                 .build();
     }
 
+    @GetMapping("/search")
+    public ApiResponse<?> searchUsers(@RequestParam("q") String query,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20", required = false) int size) {
+
+        CursorPageResponse<?> userResponse = userService.searchByName(query, cursor, size);
+
+        return ApiResponse.<CursorPageResponse<?>>builder()
+                .status(HttpStatus.OK.value())
+                .message("Search users successfully")
+                .data(userResponse)
+                .build();
+    }
+
     @PostMapping
     public ApiResponse<UserResponse> creationUser(@RequestBody @Valid UserRequest userRequest) {
         UserResponse userResponse = userService.save(userRequest);
@@ -51,16 +66,28 @@ public class UserController {
     @GetMapping("/all")
     public ApiResponse<?> getAllUsers(@RequestParam(defaultValue = "0", required = false) int page,
                                       @Min(5) @RequestParam(defaultValue = "20", required = false) int size,
-                                      @RequestParam String sortBy) {
+                                      @RequestParam(defaultValue = "id", required = false) String sortBy,
+                                      @RequestParam(defaultValue = "false", required = false) boolean scroll,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "false", required = false) boolean includeTotal) {
         var auth = SecurityContextHolder.getContext().getAuthentication();
         log.info("Username: {}",auth.getName());
         auth.getAuthorities().forEach(role -> log.info(role.getAuthority()));
 
+        // Offset paging stays the default response; keyset scrolling is opted into with scroll=true or a cursor
+        if (!scroll && cursor == null) {
+            PageResponse<?> userResponses = userService.findAll(page, size, sortBy);
 
-        PageResponse<?> userResponses = userService.findAll(page, size, sortBy);
+            return ApiResponse.<PageResponse<?>>builder()
+                    .status(HttpStatus.OK.value())
+                    .message("Get all users successfully")
+                    .data(userResponses)
+                    .build();
+        }
 
+        CursorPageResponse<?> userResponses = userService.scrollAll(sortBy, cursor, size, includeTotal);
 
-        return ApiResponse.<PageResponse<?>>builder()
+        return ApiResponse.<CursorPageResponse<?>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Get all users successfully")
                 .data(userResponses)
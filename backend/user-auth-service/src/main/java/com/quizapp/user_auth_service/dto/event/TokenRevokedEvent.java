@@ -0,0 +1,15 @@
+package com.quizapp.user_auth_service.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevokedEvent {
+	private String jti;
+	private long expiresAt; // epoch millis
+}
@@ -11,4 +11,5 @@ import lombok.NoArgsConstructor;
 @Builder
 public class LogoutRequest {
     private String token;
+    private String refreshToken;
 }
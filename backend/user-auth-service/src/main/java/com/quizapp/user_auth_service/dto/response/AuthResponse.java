@@ -12,4 +12,6 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     boolean authenticated;
     String token;
+    String refreshToken;
+    long expiresIn; // access token lifetime in seconds
 }
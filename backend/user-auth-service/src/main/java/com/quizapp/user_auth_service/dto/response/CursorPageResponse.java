@@ -0,0 +1,18 @@
+package com.quizapp.user_auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> implements Serializable {
+    private int size;           // Kích thước trang
+    private boolean hasNext;    // Có trang tiếp theo không?
+    private String nextCursor;  // Truyền lại qua tham số cursor để lấy trang tiếp theo
+    private Long total;         // Tổng số phần tử (ước lượng), chỉ có khi được yêu cầu
+    private T items;
+}
@@ -19,7 +19,11 @@ public enum ErrorCode {
     TOKEN_MISSING(400, "Token is missing", HttpStatus.BAD_REQUEST),
     UNEXPECTED_ERROR(500, "Unexpected error", HttpStatus.INTERNAL_SERVER_ERROR),
     UNAUTHORIZED(403, "You do not have permission", HttpStatus.FORBIDDEN),
-    UNAUTHENTICATED(401, "Unauthenticated", HttpStatus.UNAUTHORIZED)
+    UNAUTHENTICATED(401, "Unauthenticated", HttpStatus.UNAUTHORIZED),
+    TOO_MANY_REQUESTS(429, "Too many requests, please try again later", HttpStatus.TOO_MANY_REQUESTS),
+    INVALID_REFRESH_TOKEN(401, "Invalid refresh token", HttpStatus.UNAUTHORIZED),
+    INVALID_CURSOR(400, "Invalid cursor", HttpStatus.BAD_REQUEST),
+    INVALID_SORT_KEY(400, "Sort key must be one of id, email, fullName", HttpStatus.BAD_REQUEST)
     ;
 
 
@@ -0,0 +1,28 @@
+package com.quizapp.user_auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * RSA key pair used to sign access tokens, stored as a private JWK encrypted with the configured key encryption key
+ * so every replica signs and verifies with the same keys
+ */
+@Entity
+@Table(name = "signing_keys")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey extends BaseEntity<Long> {
+
+	@Column(name = "kid", nullable = false, unique = true)
+	private String kid;
+
+	@Column(name = "jwk", nullable = false, columnDefinition = "TEXT")
+	private String jwk;
+
+	// kid of the key this one superseded; unique, so only one replica wins each rotation
+	@Column(name = "rotated_from", unique = true)
+	private String rotatedFrom;
+}
@@ -8,7 +8,9 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_full_name_id", columnList = "full_name, id")
+})
 @Getter
 @Setter
 @Builder
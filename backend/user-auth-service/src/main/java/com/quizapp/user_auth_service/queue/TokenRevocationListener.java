@@ -0,0 +1,23 @@
+package com.quizapp.user_auth_service.queue;
+
+import com.quizapp.user_auth_service.dto.event.TokenRevokedEvent;
+import com.quizapp.user_auth_service.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationListener {
+
+	private final TokenRevocationService tokenRevocationService;
+
+	// Every replica has its own anonymous queue on the fanout exchange
+	@RabbitListener(queues = "#{tokenRevocationQueue.name}")
+	public void handleTokenRevoked(TokenRevokedEvent event) {
+		log.debug("Received token revocation {}", event.getJti());
+		tokenRevocationService.addRevoked(event.getJti(), event.getExpiresAt());
+	}
+}
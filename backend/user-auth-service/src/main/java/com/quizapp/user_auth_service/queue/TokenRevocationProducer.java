@@ -0,0 +1,26 @@
+package com.quizapp.user_auth_service.queue;
+
+import com.quizapp.user_auth_service.config.RabbitConfig;
+import com.quizapp.user_auth_service.dto.event.TokenRevokedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationProducer {
+
+	private final RabbitTemplate rabbitTemplate;
+
+	public void publishTokenRevoked(TokenRevokedEvent event) {
+		try {
+			rabbitTemplate.convertAndSend(RabbitConfig.TOKEN_REVOKED_EXCHANGE, "", event);
+		} catch (AmqpException e) {
+			// Other replicas still pick the revocation up on their next resync from invalid_tokens
+			log.warn("Failed to broadcast token revocation {}: {}", event.getJti(), e.getMessage());
+		}
+	}
+}
@@ -2,7 +2,26 @@ package com.quizapp.user_auth_service.repository;
 
 import com.quizapp.user_auth_service.model.InvalidToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 public interface InvalidTokenRepository extends JpaRepository<InvalidToken, Long> {
     boolean existsByToken(String token);
+
+    Optional<InvalidToken> findByToken(String token);
+
+    List<InvalidToken> findByExpirationTimeAfter(Date now);
+
+    // Bounded delete so a large backlog never holds locks or bloats the WAL in one statement
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM invalid_tokens WHERE id IN " +
+            "(SELECT id FROM invalid_tokens WHERE expiration_time < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") Date cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,20 @@
+package com.quizapp.user_auth_service.repository;
+
+import com.quizapp.user_auth_service.model.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, Long> {
+    List<SigningKey> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime after);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SigningKey k WHERE k.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
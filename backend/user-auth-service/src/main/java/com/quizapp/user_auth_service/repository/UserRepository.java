@@ -1,9 +1,14 @@
 package com.quizapp.user_auth_service.repository;
 
 import com.quizapp.user_auth_service.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
@@ -18,4 +23,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Page<User> findUsersByFullNameContaining(String fullName, Pageable pageable);
 
+    // Keyset scroll: the position is turned into a WHERE on the sort keys, no OFFSET and no COUNT
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Planner statistics, refreshed by (auto)vacuum/analyze; -1 when the table was never analyzed
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = 'users'", nativeQuery = true)
+    Long estimateCount();
+
 }
@@ -0,0 +1,104 @@
+package com.quizapp.user_auth_service.repository;
+
+import com.quizapp.user_auth_service.dto.response.UserResponse;
+import com.quizapp.user_auth_service.untils.Gender;
+import com.quizapp.user_auth_service.untils.Role;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ranked name search. On PostgreSQL both filters (trigram similarity and substring ILIKE) are served by a
+ * pg_trgm GiST index on full_name, which also returns rows nearest first ({@code <->} distance), so a page
+ * reads only as many rows as it returns instead of sorting every match. Other databases fall back to a
+ * substring scan ordered by id. Pagination is keyset on (distance, id), so no page ever needs OFFSET or COUNT.
+ * The extension and index come from schema/init.sql or schema/migrations, never from application startup.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class UserSearchRepository {
+
+    private static final String COLUMNS = "id, full_name, date_of_birth, gender, role";
+    private static final String TRIGRAM_INDEX = "idx_users_full_name_trgm_gist";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private boolean trigramEnabled;
+
+    @PostConstruct
+    public void init() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        trigramEnabled = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+        if (!trigramEnabled) {
+            log.warn("pg_trgm is not installed, user search falls back to substring scan");
+        } else if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, TRIGRAM_INDEX))) {
+            log.warn("Index {} is missing, user search scans users; apply schema/migrations/001_users_full_name_trgm_gist.sql",
+                    TRIGRAM_INDEX);
+        }
+    }
+
+    /**
+     * @param after last (distance, id) of the previous page, or null for the first page
+     */
+    public List<ScoredUser> search(String query, SearchPosition after, int limit) {
+        String pattern = "%" + escapeLike(query) + "%";
+
+        if (trigramEnabled) {
+            List<Object> args = new ArrayList<>(List.of(query, query, pattern));
+            String keyset = "";
+            if (after != null) {
+                keyset = " AND (full_name <-> ? > ? OR (full_name <-> ? = ? AND id > ?))";
+                args.addAll(List.of(query, after.distance(), query, after.distance(), after.id()));
+            }
+            args.add(query);
+            args.add(limit);
+            return jdbcTemplate.query(
+                    "SELECT " + COLUMNS + ", full_name <-> ? AS distance FROM users " +
+                    "WHERE (full_name % ? OR full_name ILIKE ?)" + keyset +
+                    " ORDER BY full_name <-> ?, id LIMIT ?",
+                    (rs, rowNum) -> new ScoredUser(toUser(rs), rs.getFloat("distance")),
+                    args.toArray());
+        }
+
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM users WHERE LOWER(full_name) LIKE ? AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new ScoredUser(toUser(rs), 0f),
+                pattern.toLowerCase(Locale.ROOT), after != null ? after.id() : 0L, limit);
+    }
+
+    private static UserResponse toUser(ResultSet rs) throws SQLException {
+        Date dateOfBirth = rs.getDate("date_of_birth");
+        String gender = rs.getString("gender");
+        String role = rs.getString("role");
+        return UserResponse.builder()
+                .id(rs.getLong("id"))
+                .fullName(rs.getString("full_name"))
+                .dateOfBirth(dateOfBirth != null ? dateOfBirth.toLocalDate() : null)
+                .gender(gender != null ? Gender.valueOf(gender) : null)
+                .role(role != null ? Role.valueOf(role) : null)
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public record SearchPosition(float distance, long id) {}
+
+    public record ScoredUser(UserResponse user, float distance) {}
+}
@@ -0,0 +1,143 @@
+package com.quizapp.user_auth_service.schedule;
+
+import com.quizapp.user_auth_service.repository.InvalidTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Removes revoked tokens once they have expired. On a partitioned invalid_tokens table
+ * whole expiry-day partitions are dropped; anything left over is deleted in bounded chunks.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvalidTokenCleanupTask {
+
+	private static final String PARTITION_PREFIX = "invalid_tokens_p";
+	private static final String DEFAULT_PARTITION = "invalid_tokens_default";
+	private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	private final InvalidTokenRepository invalidTokenRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	@Value("${app.token-revocation.purge-chunk-size:5000}")
+	private int purgeChunkSize;
+
+	@Value("${app.token-revocation.partition-days-ahead:7}")
+	private int partitionDaysAhead;
+
+	// Run every hour
+	@Scheduled(cron = "0 15 * * * *")
+	public void cleanExpiredTokens() {
+		// Separate steps so a failed partition DDL does not block the row purge
+		if (isPartitioned()) {
+			try {
+				maintainPartitions();
+			} catch (Exception e) {
+				log.error("Error maintaining invalid token partitions", e);
+			}
+		}
+		try {
+			purgeInChunks();
+		} catch (Exception e) {
+			log.error("Error cleaning expired invalid tokens", e);
+		}
+	}
+
+	private boolean isPartitioned() {
+		try {
+			Integer count = jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+							"WHERE c.relname = 'invalid_tokens'", Integer.class);
+			return count != null && count > 0;
+		} catch (Exception e) {
+			// Not PostgreSQL
+			return false;
+		}
+	}
+
+	private void maintainPartitions() {
+		// Partition bounds are compared in the database session's time zone, so take today from there too
+		LocalDate today = jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class);
+		for (int i = 0; i <= partitionDaysAhead; i++) {
+			LocalDate day = today.plusDays(i);
+			try {
+				createPartition(day);
+			} catch (Exception e) {
+				log.error("Error creating invalid token partition {}", partitionName(day), e);
+			}
+		}
+
+		List<String> partitions = jdbcTemplate.queryForList(
+				"SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+						"JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'invalid_tokens'", String.class);
+		for (String partition : partitions) {
+			if (!partition.startsWith(PARTITION_PREFIX)) {
+				continue;
+			}
+			LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_DAY);
+			// Upper bound is the next midnight; every token in the partition has expired once today passes it
+			if (!day.plusDays(1).isAfter(today)) {
+				try {
+					jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+					log.info("Dropped expired invalid token partition {}", partition);
+				} catch (Exception e) {
+					log.error("Error dropping invalid token partition {}", partition, e);
+				}
+			}
+		}
+	}
+
+	private void createPartition(LocalDate day) {
+		String partition = partitionName(day);
+		String bounds = " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+		// PostgreSQL rejects a new partition while DEFAULT holds rows in its range
+		Boolean blocked = jdbcTemplate.queryForObject(
+				"SELECT to_regclass(?) IS NULL AND EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION +
+						" WHERE expiration_time >= ? AND expiration_time < ?)",
+				Boolean.class, partition, day, day.plusDays(1));
+		if (!Boolean.TRUE.equals(blocked)) {
+			jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF invalid_tokens" + bounds);
+			return;
+		}
+
+		// Move the day's rows out of DEFAULT and attach in one transaction, so no revoked token is ever missing
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE invalid_tokens INCLUDING DEFAULTS)");
+			int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+					" WHERE expiration_time >= ? AND expiration_time < ? RETURNING *) " +
+					"INSERT INTO " + partition + " SELECT * FROM moved", day, day.plusDays(1));
+			jdbcTemplate.execute("ALTER TABLE invalid_tokens ATTACH PARTITION " + partition + bounds);
+			log.info("Moved {} invalid tokens from {} into new partition {}", moved, DEFAULT_PARTITION, partition);
+		});
+	}
+
+	private void purgeInChunks() {
+		Date cutoff = new Date();
+		int total = 0;
+		int removed;
+		do {
+			removed = invalidTokenRepository.deleteExpiredChunk(cutoff, purgeChunkSize);
+			total += removed;
+		} while (removed == purgeChunkSize);
+		if (total > 0) {
+			log.info("Cleaned {} expired invalid tokens", total);
+		}
+	}
+
+	private static String partitionName(LocalDate day) {
+		return PARTITION_PREFIX + day.format(PARTITION_DAY);
+	}
+}
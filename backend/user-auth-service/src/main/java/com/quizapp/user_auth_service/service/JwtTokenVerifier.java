@@ -0,0 +1,91 @@
+package com.quizapp.user_auth_service.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * Single-pass token validation: parse once, verify the signature once with a prebuilt verifier,
+ * then check expiry and revocation in memory.
+ * Tokens are RS256 with the signing key's kid. HS512 tokens issued before the switch are only accepted
+ * when app.jwt.accept-legacy-hs512 is turned on, and are then verified with app.jwt.secret.
+ */
+@Slf4j
+@Service
+public class JwtTokenVerifier {
+
+    private final TokenRevocationService tokenRevocationService;
+    private final SigningKeyService signingKeyService;
+    private final JWSVerifier legacyVerifier;
+
+    public JwtTokenVerifier(TokenRevocationService tokenRevocationService,
+                            SigningKeyService signingKeyService,
+                            @Value("${app.jwt.accept-legacy-hs512:false}") boolean acceptLegacyHs512,
+                            @Value("${app.jwt.secret:}") String legacySecret) throws JOSEException {
+        this.tokenRevocationService = tokenRevocationService;
+        this.signingKeyService = signingKeyService;
+        if (acceptLegacyHs512 && legacySecret.isEmpty()) {
+            throw new IllegalStateException("app.jwt.accept-legacy-hs512 requires app.jwt.secret");
+        }
+        this.legacyVerifier = acceptLegacyHs512 ? new MACVerifier(legacySecret.getBytes()) : null;
+    }
+
+    /**
+     * @return the parsed token; its claims are already parsed and cached
+     */
+    public SignedJWT verify(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new AppException(ErrorCode.TOKEN_MISSING);
+        }
+
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+
+            JWSVerifier verifier = verifierFor(signedJWT);
+            if (verifier == null || !signedJWT.verify(verifier)) {
+                throw new AppException(ErrorCode.INVALID_SIGNATURE);
+            }
+
+            JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
+            Date expirationTime = claimsSet.getExpirationTime();
+            if (expirationTime == null) {
+                throw new AppException(ErrorCode.MALFORMED_TOKEN);
+            }
+            if (expirationTime.before(new Date())) {
+                throw new AppException(ErrorCode.TOKEN_EXPIRED);
+            }
+
+            if (tokenRevocationService.isRevoked(claimsSet.getJWTID())) {
+                throw new AppException(ErrorCode.TOKEN_EXPIRED);
+            }
+
+            return signedJWT;
+        } catch (ParseException e) {
+            throw new AppException(ErrorCode.MALFORMED_TOKEN);
+        } catch (JOSEException e) {
+            throw new AppException(ErrorCode.INVALID_SIGNATURE);
+        }
+    }
+
+    private JWSVerifier verifierFor(SignedJWT signedJWT) {
+        JWSAlgorithm algorithm = signedJWT.getHeader().getAlgorithm();
+        if (JWSAlgorithm.RS256.equals(algorithm)) {
+            return signingKeyService.verifier(signedJWT.getHeader().getKeyID()).orElse(null);
+        }
+        if (JWSAlgorithm.HS512.equals(algorithm)) {
+            return legacyVerifier;
+        }
+        return null;
+    }
+}
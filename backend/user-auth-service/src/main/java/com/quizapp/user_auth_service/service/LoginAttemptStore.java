@@ -0,0 +1,14 @@
+package com.quizapp.user_auth_service.service;
+
+/**
+ * Sliding-window login attempt counters used by {@link LoginThrottleService}
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Count one attempt for the key and return the attempts in the current sliding window, including it
+     */
+    long incrementAndGet(String key);
+
+    void reset(String key);
+}
@@ -0,0 +1,56 @@
+package com.quizapp.user_auth_service.service;
+
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Sliding-window login throttling by email and by client IP.
+ * Checked before the user lookup and the BCrypt verify, so rejected attempts cost almost nothing.
+ */
+@Slf4j
+@Service
+public class LoginThrottleService {
+
+    private final LoginAttemptStore attemptStore;
+    private final int maxAttemptsPerEmail;
+    private final int maxAttemptsPerIp;
+
+    public LoginThrottleService(LoginAttemptStore attemptStore,
+                                @Value("${app.login-throttle.max-attempts-per-email:10}") int maxAttemptsPerEmail,
+                                @Value("${app.login-throttle.max-attempts-per-ip:100}") int maxAttemptsPerIp) {
+        this.attemptStore = attemptStore;
+        this.maxAttemptsPerEmail = maxAttemptsPerEmail;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+    }
+
+    public void checkAttempt(String email, String clientIp) {
+        if (clientIp != null && attemptStore.incrementAndGet(ipKey(clientIp)) > maxAttemptsPerIp) {
+            log.warn("Login throttled for IP {}", clientIp);
+            throw new AppException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+        if (email != null && attemptStore.incrementAndGet(emailKey(email)) > maxAttemptsPerEmail) {
+            log.warn("Login throttled for email {}", email);
+            throw new AppException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+    }
+
+    /**
+     * A successful login clears the account's counter; the IP keeps counting
+     */
+    public void recordSuccess(String email) {
+        attemptStore.reset(emailKey(email));
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+}
@@ -1,19 +1,103 @@
 package com.quizapp.user_auth_service.service;
 
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt hashing and verification on the dedicated password hashing pool.
+ * When the pool's queue is full the call fails fast with TOO_MANY_REQUESTS instead of queueing on request threads.
+ * BCrypt does not check for interruption, so a caller that gives up after max-wait can only withdraw a task that
+ * is still queued; one already running finishes on its pool thread. The wasted work is therefore bounded by the
+ * pool size, and the queue capacity bounds how long anything waits.
+ */
+@Slf4j
 @Service
 public class PasswordService {
     
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordService(ThreadPoolExecutor passwordHashingExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.password-hashing.max-wait:5000}") long maxWaitMillis) {
+        this.executor = passwordHashingExecutor;
+        this.maxWaitMillis = maxWaitMillis;
+        this.hashTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "hash")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
     
     public String hashPassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return submit(() -> hashTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
     }
     
     public boolean verifyPassword(String rawPassword, String hashedPassword) {
-        return passwordEncoder.matches(rawPassword, hashedPassword);
+        return submit(() -> verifyTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, hashedPassword)));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new AppException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            withdraw(future);
+            rejectedCounter.increment();
+            log.warn("Password hashing did not complete within {} ms", maxWaitMillis);
+            throw new AppException(ErrorCode.TOO_MANY_REQUESTS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            withdraw(future);
+            throw new AppException(ErrorCode.UNEXPECTED_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AppException(ErrorCode.UNEXPECTED_ERROR);
+        }
+    }
+
+    // Drop a queued task so it neither runs nor holds queue capacity; interrupting a running hash would not stop it
+    private void withdraw(Future<?> future) {
+        future.cancel(false);
+        if (future instanceof Runnable queued) {
+            executor.remove(queued);
+        }
     }
 }
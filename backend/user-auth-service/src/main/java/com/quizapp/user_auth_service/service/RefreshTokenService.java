@@ -0,0 +1,169 @@
+package com.quizapp.user_auth_service.service;
+
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens in Redis, formatted {@code <familyId>.<secret>}. Only a SHA-256 of the token is stored.
+ * Every refresh rotates the token in one script call; presenting an already rotated token revokes the whole
+ * family, so a stolen token stops working for both the thief and the owner. A token rotated less than
+ * the reuse grace ago is exchanged once more instead, which absorbs concurrent refreshes and lost responses.
+ * The family only stores the user id: callers reload the user, so role changes and deletions take effect.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String TOKEN_KEY_PREFIX = "refresh-token:";
+    private static final String FAMILY_KEY_PREFIX = "refresh-family:";
+    private static final String USER_FAMILIES_KEY_PREFIX = "refresh-user:";
+    private static final String REUSED = "REUSED";
+
+    // KEYS: family, token, user's family index. ARGV: userId, ttl, familyId
+    private static final DefaultRedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "redis.call('SET', KEYS[2], '0', 'PX', ARGV[2]) " +
+            "redis.call('SADD', KEYS[3], ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[3], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    // KEYS: family, presented token, replacement token. ARGV: ttl, now, reuse grace, familyId, user index key prefix.
+    // Family value: userId. Token value: '0' until rotated, then '1|<rotatedAtMillis>'.
+    // The user's family index is extended with the family, so it outlives every family in it. Its key depends on
+    // the stored userId and is built here (fine on a standalone Redis; Cluster would need it declared in KEYS)
+    private static final DefaultRedisScript<String> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local userId = redis.call('GET', KEYS[1]) " +
+            "if not userId then return false end " +
+            "local value = redis.call('GET', KEYS[2]) " +
+            "if not value then return false end " +
+            "if string.sub(value, 1, 1) == '0' then " +
+            "  redis.call('SET', KEYS[2], '1|' .. ARGV[2], 'KEEPTTL') " +
+            "else " +
+            "  local rotatedAt = tonumber(string.match(value, '^1|(%d+)$')) " +
+            "  if not rotatedAt or tonumber(ARGV[2]) - rotatedAt >= tonumber(ARGV[3]) then " +
+            "    redis.call('DEL', KEYS[1]) " +
+            "    return '" + REUSED + "' " +
+            "  end " +
+            "end " +
+            "redis.call('SET', KEYS[3], '0', 'PX', ARGV[1]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "local index = ARGV[5] .. userId " +
+            "redis.call('SADD', index, ARGV[4]) " +
+            "redis.call('PEXPIRE', index, ARGV[1]) " +
+            "return userId",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long refreshTokenTtlMillis;
+    private final long reuseGraceMillis;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(StringRedisTemplate redisTemplate,
+                               @Value("${app.jwt.refresh-token-ttl:1209600000}") long refreshTokenTtlMillis,
+                               @Value("${app.jwt.refresh-token-reuse-grace:30000}") long reuseGraceMillis) {
+        this.redisTemplate = redisTemplate;
+        this.refreshTokenTtlMillis = refreshTokenTtlMillis;
+        this.reuseGraceMillis = reuseGraceMillis;
+    }
+
+    /**
+     * Start a new token family at login
+     */
+    public String issue(Long userId) {
+        String familyId = UUID.randomUUID().toString();
+        String token = newToken(familyId);
+        redisTemplate.execute(ISSUE_SCRIPT,
+                List.of(FAMILY_KEY_PREFIX + familyId, tokenKey(token), userFamiliesKey(userId)),
+                String.valueOf(userId), String.valueOf(refreshTokenTtlMillis), familyId);
+        return token;
+    }
+
+    /**
+     * Exchange a refresh token for its replacement in a single script call
+     */
+    public Rotation rotate(String token) {
+        String familyId = familyOf(token);
+        String replacement = newToken(familyId);
+        String result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(FAMILY_KEY_PREFIX + familyId, tokenKey(token), tokenKey(replacement)),
+                String.valueOf(refreshTokenTtlMillis), String.valueOf(System.currentTimeMillis()),
+                String.valueOf(reuseGraceMillis), familyId, USER_FAMILIES_KEY_PREFIX);
+
+        if (result == null) {
+            throw new AppException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        if (REUSED.equals(result)) {
+            log.warn("Refresh token reuse detected, revoked token family {}", familyId);
+            throw new AppException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+
+        return new Rotation(replacement, Long.valueOf(result));
+    }
+
+    /**
+     * Revoke the token's whole family, e.g. on logout. The stale index entry is harmless and expires with the index.
+     */
+    public void revoke(String token) {
+        redisTemplate.delete(FAMILY_KEY_PREFIX + familyOf(token));
+    }
+
+    /**
+     * Revoke every family of a user, e.g. after a password change or when the account is gone
+     */
+    public void revokeAll(Long userId) {
+        String indexKey = userFamiliesKey(userId);
+        Set<String> familyIds = redisTemplate.opsForSet().members(indexKey);
+        if (familyIds == null || familyIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.delete(familyIds.stream().map(id -> FAMILY_KEY_PREFIX + id).toList());
+        // Remove only what was revoked, so a family issued concurrently stays indexed
+        redisTemplate.opsForSet().remove(indexKey, familyIds.toArray());
+        log.info("Revoked {} refresh token families of user {}", familyIds.size(), userId);
+    }
+
+    private String newToken(String familyId) {
+        byte[] secret = new byte[32];
+        secureRandom.nextBytes(secret);
+        return familyId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    private static String familyOf(String token) {
+        int separator = token == null ? -1 : token.indexOf('.');
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            throw new AppException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        return token.substring(0, separator);
+    }
+
+    private static String userFamiliesKey(Long userId) {
+        return USER_FAMILIES_KEY_PREFIX + userId;
+    }
+
+    private static String tokenKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return TOKEN_KEY_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(String refreshToken, Long userId) {}
+}
@@ -0,0 +1,237 @@
+package com.quizapp.user_auth_service.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.quizapp.user_auth_service.model.SigningKey;
+import com.quizapp.user_auth_service.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RS256 signing keys identified by kid. The newest key signs; older keys stay published in the JWKS
+ * until every token they signed has expired. Keys rotate on a schedule and every replica reloads them
+ * periodically, so rotation needs no restart. Each rotation is keyed on the kid it supersedes, so when
+ * several replicas find the active key due at once only one new key is created. Private keys are stored
+ * AES-GCM encrypted with the configured key encryption key.
+ */
+@Slf4j
+@Service
+public class SigningKeyService {
+
+    // rotated_from of the first key, when there is no key to supersede
+    private static final String INITIAL_KEY = "initial";
+    private static final String ENCRYPTED_PREFIX = "enc:v1:";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final Duration rotationInterval;
+    private final Duration tokenLifetime;
+    private final long unknownKidReloadIntervalMillis;
+    private final SecretKey keyEncryptionKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final AtomicLong lastLoadedAt = new AtomicLong();
+
+    private volatile KeyRing keyRing;
+
+    public SigningKeyService(SigningKeyRepository signingKeyRepository,
+                             @Value("${app.jwt.key-rotation-interval:604800000}") long rotationIntervalMillis,
+                             @Value("${app.jwt.expiration:86400000}") long tokenLifetimeMillis,
+                             @Value("${app.jwt.unknown-kid-reload-interval:10000}") long unknownKidReloadIntervalMillis,
+                             @Value("${app.jwt.key-encryption-key}") String keyEncryptionKey) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.rotationInterval = Duration.ofMillis(rotationIntervalMillis);
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMillis);
+        this.unknownKidReloadIntervalMillis = unknownKidReloadIntervalMillis;
+        this.keyEncryptionKey = parseKeyEncryptionKey(keyEncryptionKey);
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+        log.info("Signing with key {}", keyRing.activeKid());
+    }
+
+    /**
+     * Reload keys written by other replicas and rotate when the active key is due
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.key-refresh-interval:60000}",
+            initialDelayString = "${app.jwt.key-refresh-interval:60000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        signingKeyRepository.deleteByCreatedAtBefore(publishCutoff(now));
+        List<SigningKey> keys = loadPublishedKeys(now);
+        if (keys.isEmpty() || keys.get(0).getCreatedAt().isBefore(now.minus(rotationInterval))) {
+            rotate(keys.isEmpty() ? INITIAL_KEY : keys.get(0).getKid());
+            keys = loadPublishedKeys(now);
+        }
+        lastLoadedAt.set(System.currentTimeMillis());
+        keyRing = buildKeyRing(keys);
+    }
+
+    public String activeKid() {
+        return keyRing.activeKid();
+    }
+
+    public JWSSigner signer() {
+        return keyRing.signer();
+    }
+
+    /**
+     * Verifier for a kid. An unknown kid may be a key another replica just created, so keys are reloaded
+     * once before rejecting, at most once per reload interval so bogus kids cannot hammer the database.
+     */
+    public Optional<JWSVerifier> verifier(String kid) {
+        if (kid == null) {
+            return Optional.empty();
+        }
+        JWSVerifier verifier = keyRing.verifiers().get(kid);
+        if (verifier == null && claimReload()) {
+            List<SigningKey> keys = loadPublishedKeys(LocalDateTime.now());
+            if (!keys.isEmpty()) {
+                keyRing = buildKeyRing(keys);
+            }
+            verifier = keyRing.verifiers().get(kid);
+        }
+        return Optional.ofNullable(verifier);
+    }
+
+    /**
+     * Public keys as a serialized JWK set, rebuilt only when the keys change
+     */
+    public String jwksJson() {
+        return keyRing.jwksJson();
+    }
+
+    // The unique rotated_from makes this a conditional insert: a replica that loses the race keeps the winner's key
+    private void rotate(String supersededKid) {
+        RSAKey rsaKey;
+        try {
+            rsaKey = new RSAKeyGenerator(2048)
+                    .keyID(UUID.randomUUID().toString())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256)
+                    .generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to generate signing key", e);
+        }
+        try {
+            signingKeyRepository.saveAndFlush(SigningKey.builder()
+                    .kid(rsaKey.getKeyID())
+                    .jwk(encrypt(rsaKey.getKeyID(), rsaKey.toJSONString()))
+                    .rotatedFrom(supersededKid)
+                    .build());
+            log.info("Rotated signing key, new kid {}", rsaKey.getKeyID());
+        } catch (DataIntegrityViolationException e) {
+            log.info("Signing key {} was already rotated by another replica", supersededKid);
+        }
+    }
+
+    private boolean claimReload() {
+        long now = System.currentTimeMillis();
+        long last = lastLoadedAt.get();
+        return now - last >= unknownKidReloadIntervalMillis && lastLoadedAt.compareAndSet(last, now);
+    }
+
+    private List<SigningKey> loadPublishedKeys(LocalDateTime now) {
+        return signingKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(publishCutoff(now));
+    }
+
+    // A key signs for one rotation interval, then verifies for one more token lifetime
+    private LocalDateTime publishCutoff(LocalDateTime now) {
+        return now.minus(rotationInterval).minus(tokenLifetime);
+    }
+
+    private KeyRing buildKeyRing(List<SigningKey> keys) {
+        try {
+            List<RSAKey> rsaKeys = new ArrayList<>();
+            Map<String, JWSVerifier> verifiers = new HashMap<>();
+            for (SigningKey key : keys) {
+                RSAKey rsaKey = RSAKey.parse(decrypt(key));
+                rsaKeys.add(rsaKey);
+                verifiers.put(rsaKey.getKeyID(), new RSASSAVerifier(rsaKey.toRSAPublicKey()));
+            }
+            RSAKey active = rsaKeys.get(0);
+            String jwksJson = new JWKSet(new ArrayList<>(rsaKeys)).toPublicJWKSet().toString();
+            return new KeyRing(active.getKeyID(), new RSASSASigner(active), Map.copyOf(verifiers), jwksJson);
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException("Failed to load signing keys", e);
+        }
+    }
+
+    // AES-GCM with the kid as associated data, so a ciphertext cannot be moved to another row
+    private String encrypt(String kid, String jwk) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(jwk.getBytes(StandardCharsets.UTF_8));
+            byte[] payload = ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+            return ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt signing key", e);
+        }
+    }
+
+    // Keys written before encryption are plaintext JWKs; they age out within one rotation interval plus token lifetime
+    private String decrypt(SigningKey key) {
+        if (!key.getJwk().startsWith(ENCRYPTED_PREFIX)) {
+            log.warn("Signing key {} is stored unencrypted", key.getKid());
+            return key.getJwk();
+        }
+        try {
+            byte[] payload = Base64.getDecoder().decode(key.getJwk().substring(ENCRYPTED_PREFIX.length()));
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, payload, 0, IV_LENGTH));
+            cipher.updateAAD(key.getKid().getBytes(StandardCharsets.UTF_8));
+            byte[] jwk = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+            return new String(jwk, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to decrypt signing key " + key.getKid(), e);
+        }
+    }
+
+    private static SecretKey parseKeyEncryptionKey(String base64) {
+        byte[] key = Base64.getDecoder().decode(base64);
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("app.jwt.key-encryption-key must be a base64 AES key of 16, 24 or 32 bytes");
+        }
+        return new SecretKeySpec(key, "AES");
+    }
+
+    private record KeyRing(String activeKid, JWSSigner signer, Map<String, JWSVerifier> verifiers, String jwksJson) {}
+}
@@ -0,0 +1,129 @@
+package com.quizapp.user_auth_service.service;
+
+import com.quizapp.user_auth_service.dto.event.TokenRevokedEvent;
+import com.quizapp.user_auth_service.model.InvalidToken;
+import com.quizapp.user_auth_service.queue.TokenRevocationProducer;
+import com.quizapp.user_auth_service.repository.InvalidTokenRepository;
+import com.quizapp.user_auth_service.untils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of revoked token ids (JTI), so token validation does not query invalid_tokens.
+ * A Bloom filter answers the common "not revoked" case; only filter hits look at the JTI map,
+ * and only a hit missing from the map (a false positive or a revocation not yet received) reaches the DB.
+ * Revocations are broadcast to the other replicas and the whole view is periodically rebuilt from the DB.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final TokenRevocationProducer tokenRevocationProducer;
+
+    @Value("${app.token-revocation.expected-tokens:100000}")
+    private long expectedTokens;
+
+    @Value("${app.token-revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    // Filter and map are swapped together on rebuild
+    private volatile RevokedSet revoked = new RevokedSet(new BloomFilter(1, 0.01), new ConcurrentHashMap<>());
+
+    @PostConstruct
+    public void loadRevokedTokens() {
+        rebuild();
+        log.info("Loaded {} revoked tokens", revoked.tokens().size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        RevokedSet current = revoked;
+        if (!current.filter().mightContain(jti)) {
+            return false;
+        }
+        if (current.tokens().containsKey(jti)) {
+            return true;
+        }
+        return invalidTokenRepository.findByToken(jti)
+                .map(token -> {
+                    addRevoked(jti, token.getExpirationTime().getTime());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        invalidTokenRepository.save(InvalidToken.builder()
+                .token(jti)
+                .expirationTime(expiresAt)
+                .build());
+        addRevoked(jti, expiresAt.getTime());
+        tokenRevocationProducer.publishTokenRevoked(new TokenRevokedEvent(jti, expiresAt.getTime()));
+    }
+
+    /**
+     * Record a revocation locally, e.g. one broadcast by another replica
+     */
+    public synchronized void addRevoked(String jti, long expiresAt) {
+        if (expiresAt < System.currentTimeMillis()) {
+            return;
+        }
+        revoked.filter().put(jti);
+        revoked.tokens().put(jti, expiresAt);
+    }
+
+    // Every 10 minutes
+    @Scheduled(fixedDelay = 600000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        revoked.tokens().values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    /**
+     * Rebuild filter and map from invalid_tokens: drops expired JTIs from the filter
+     * and picks up revocations whose broadcast was missed
+     */
+    @Scheduled(fixedDelayString = "${app.token-revocation.resync-interval:300000}",
+            initialDelayString = "${app.token-revocation.resync-interval:300000}")
+    public void resync() {
+        rebuild();
+        log.debug("Resynced {} revoked tokens", revoked.tokens().size());
+    }
+
+    private void rebuild() {
+        List<InvalidToken> tokens = invalidTokenRepository.findByExpirationTimeAfter(new Date());
+        RevokedSet fresh = new RevokedSet(
+                new BloomFilter(Math.max(expectedTokens, tokens.size() * 2L), falsePositiveRate),
+                new ConcurrentHashMap<>());
+        for (InvalidToken token : tokens) {
+            fresh.filter().put(token.getToken());
+            fresh.tokens().put(token.getToken(), token.getExpirationTime().getTime());
+        }
+
+        synchronized (this) {
+            // Keep revocations received while the DB was being read
+            long now = System.currentTimeMillis();
+            revoked.tokens().forEach((jti, expiresAt) -> {
+                if (expiresAt >= now && fresh.tokens().putIfAbsent(jti, expiresAt) == null) {
+                    fresh.filter().put(jti);
+                }
+            });
+            revoked = fresh;
+        }
+    }
+
+    private record RevokedSet(BloomFilter filter, Map<String, Long> tokens) {}
+}
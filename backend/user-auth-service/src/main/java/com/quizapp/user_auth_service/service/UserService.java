@@ -2,17 +2,22 @@ package com.quizapp.user_auth_service.service;
 
 import com.quizapp.user_auth_service.dto.request.UpdateUserRequest;
 import com.quizapp.user_auth_service.dto.request.UserRequest;
+import com.quizapp.user_auth_service.dto.response.CursorPageResponse;
 import com.quizapp.user_auth_service.dto.response.PageResponse;
 import com.quizapp.user_auth_service.dto.response.UserResponse;
 
 public interface UserService {
     PageResponse<?> findByFullName(String fullName, int page, int size);
 
+    CursorPageResponse<?> searchByName(String query, String cursor, int size);
+
     UserResponse save(UserRequest userRequest);
 
     void update(Long id, UpdateUserRequest updateUserRequest);
 
     PageResponse<?> findAll(int page, int size, String sortBy);
+
+    CursorPageResponse<?> scrollAll(String sortBy, String cursor, int size, boolean includeTotal);
     
     UserResponse findByEmail(String email);
     
@@ -1,8 +1,6 @@
 package com.quizapp.user_auth_service.service.impl;
 
 import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.quizapp.user_auth_service.dto.request.AuthRequest;
@@ -13,15 +11,19 @@ import com.quizapp.user_auth_service.dto.response.AuthResponse;
 import com.quizapp.user_auth_service.dto.response.IntrospectResponse;
 import com.quizapp.user_auth_service.exception.AppException;
 import com.quizapp.user_auth_service.exception.ErrorCode;
-import com.quizapp.user_auth_service.model.InvalidToken;
 import com.quizapp.user_auth_service.model.User;
-import com.quizapp.user_auth_service.repository.InvalidTokenRepository;
 import com.quizapp.user_auth_service.repository.UserRepository;
+import com.quizapp.user_auth_service.service.JwtTokenVerifier;
+import com.quizapp.user_auth_service.service.LoginThrottleService;
 import com.quizapp.user_auth_service.service.PasswordService;
+import com.quizapp.user_auth_service.service.RefreshTokenService;
 import com.quizapp.user_auth_service.service.RolePermissionService;
+import com.quizapp.user_auth_service.service.SigningKeyService;
+import com.quizapp.user_auth_service.service.TokenRevocationService;
+import com.quizapp.user_auth_service.untils.Role;
 import lombok.RequiredArgsConstructor;
-import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.text.ParseException;
@@ -34,25 +36,36 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl {
     private final UserRepository userRepository;
-    private final InvalidTokenRepository invalidTokenRepository;
+    private final JwtTokenVerifier tokenVerifier;
+    private final TokenRevocationService tokenRevocationService;
     private final PasswordService passwordService;
     private final RolePermissionService rolePermissionService;
+    private final LoginThrottleService loginThrottleService;
+    private final SigningKeyService signingKeyService;
+    private final RefreshTokenService refreshTokenService;
 
-    @NonFinal
-    private static final String SIGN = "5020f057d0d31c44d2397a3265c89b86b95a1903160610e290786cfe36e43e7b";
+    // Short-lived: sessions are extended with refresh tokens, which keeps revoked access tokens few
+    @Value("${app.jwt.expiration:900000}")
+    private long accessTokenTtlMillis;
+
+    // Version 2 tokens carry userId and role claims that downstream services trust without a lookup
+    public static final int TOKEN_VERSION = 2;
+
+    public AuthResponse authenticateUser(AuthRequest authRequest, String clientIp) {
+        loginThrottleService.checkAttempt(authRequest.getEmail(), clientIp);
 
-    public AuthResponse authenticateUser(AuthRequest authRequest) {
         User user = userRepository.findByEmail(authRequest.getEmail())
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
 
         if (!passwordService.verifyPassword(authRequest.getPassword(), user.getPasswordHash())) {
             throw new AppException(ErrorCode.INVALID_CREDENTIALS);
         }
-
-        String token = generateToken(user);
+        loginThrottleService.recordSuccess(authRequest.getEmail());
 
         return AuthResponse.builder()
-                .token(token)
+                .token(generateToken(user.getId(), user.getEmail(), user.getRole()))
+                .refreshToken(refreshTokenService.issue(user.getId()))
+                .expiresIn(accessTokenTtlMillis / 1000)
                 .authenticated(true)
                 .build();
     }
@@ -67,16 +80,7 @@ public class AuthenticationServiceImpl {
             String token = request.getToken();
             log.debug("Introspecting token: {}", token.substring(0, Math.min(20, token.length())) + "...");
             
-            SignedJWT signedJWT = verifyToken(token);
-
-            // Check if token has been invalidated
-            String jti = signedJWT.getJWTClaimsSet().getJWTID();
-            if (invalidTokenRepository.existsByToken(jti)) {
-                log.warn("Token introspection failed: Token has been invalidated (JTI: {})", jti);
-                return IntrospectResponse.builder()
-                        .active(false)
-                        .build();
-            }
+            tokenVerifier.verify(token);
 
             log.debug("Token introspection successful: active=true");
             return IntrospectResponse.builder()
@@ -107,12 +111,10 @@ public class AuthenticationServiceImpl {
             String jti = signedJWT.getJWTClaimsSet().getJWTID();
             Date expiresAt = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-            InvalidToken invalidToken = InvalidToken.builder()
-                    .token(jti)
-                    .expirationTime(expiresAt)
-                    .build();
-
-            invalidTokenRepository.save(invalidToken);
+            tokenRevocationService.revoke(jti, expiresAt);
+            if (logOutRequest.getRefreshToken() != null) {
+                refreshTokenService.revoke(logOutRequest.getRefreshToken());
+            }
         } catch (ParseException e) {
             throw new AppException(ErrorCode.MALFORMED_TOKEN);
         } catch (AppException e) {
@@ -122,101 +124,59 @@ public class AuthenticationServiceImpl {
         }
     }
 
-    public AuthResponse refreshToken(RefreshToken token) throws ParseException , JOSEException {
-        var signJWT = verifyToken(token.getToken());
-
-        var jit = signJWT.getJWTClaimsSet().getJWTID();
-        var expirationTime = signJWT.getJWTClaimsSet().getExpirationTime();
-
-        InvalidToken invalidToken = InvalidToken.builder()
-                .token(jit)
-                .expirationTime(expirationTime)
-                .build();
-        invalidTokenRepository.save(invalidToken);
+    /**
+     * Rotate the refresh token and sign a new access token for the current state of the user, so role changes
+     * apply on the next refresh and a deleted user loses every session
+     */
+    public AuthResponse refreshToken(RefreshToken token) {
+        if (token == null || token.getToken() == null) {
+            throw new AppException(ErrorCode.TOKEN_MISSING);
+        }
 
-        var email = signJWT.getJWTClaimsSet().getSubject();
-        var user = userRepository.findByEmail(email).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        var newToken = generateToken(user);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token.getToken());
+        User user = userRepository.findById(rotation.userId()).orElse(null);
+        if (user == null) {
+            refreshTokenService.revokeAll(rotation.userId());
+            throw new AppException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
 
         return AuthResponse.builder()
-                .token(newToken)
+                .token(generateToken(user.getId(), user.getEmail(), user.getRole()))
+                .refreshToken(rotation.refreshToken())
+                .expiresIn(accessTokenTtlMillis / 1000)
                 .authenticated(true)
                 .build();
     }
 
     public SignedJWT verifyToken(String token) {
-        if (token == null || token.trim().isEmpty()) {
-            throw new AppException(ErrorCode.TOKEN_MISSING);
-        }
-
-        try {
-            // Parse JWT token
-            SignedJWT signedJWT = SignedJWT.parse(token);
-
-            // Get JWT Claims
-            JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
-            if (claimsSet == null) {
-                throw new AppException(ErrorCode.MALFORMED_TOKEN);
-            }
-
-            // Check if token has expired
-            Date expirationTime = claimsSet.getExpirationTime();
-            if (expirationTime == null) {
-                throw new AppException(ErrorCode.MALFORMED_TOKEN);
-            }
-
-            if (expirationTime.before(new Date())) {
-                throw new AppException(ErrorCode.TOKEN_EXPIRED);
-            }
-
-            // Verify token signature
-            JWSVerifier verifier = new MACVerifier(SIGN.getBytes());
-            boolean verified = signedJWT.verify(verifier);
-            if (!verified) {
-                throw new AppException(ErrorCode.INVALID_SIGNATURE);
-            }
-
-            // Check if token has been invalidated (using JTI)
-            String jti = claimsSet.getJWTID();
-            if (jti != null && invalidTokenRepository.existsByToken(jti)) {
-                throw new AppException(ErrorCode.TOKEN_EXPIRED);
-            }
-
-            return signedJWT;
-        } catch (ParseException e) {
-            throw new AppException(ErrorCode.MALFORMED_TOKEN);
-        } catch (JOSEException e) {
-            throw new AppException(ErrorCode.INVALID_SIGNATURE);
-        } catch (AppException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error during token verification", e);
-            throw new AppException(ErrorCode.UNEXPECTED_ERROR);
-        }
+        return tokenVerifier.verify(token);
     }
 
-    private String generateToken(User user) {
+    private String generateToken(Long userId, String email, Role role) {
         try {
-            JWSHeader jwsHeader = new JWSHeader.Builder(JWSAlgorithm.HS512)
+            JWSHeader jwsHeader = new JWSHeader.Builder(JWSAlgorithm.RS256)
                     .type(JOSEObjectType.JWT)
+                    .keyID(signingKeyService.activeKid())
                     .build();
 
             String jti = UUID.randomUUID().toString();
             Date now = new Date();
-            Date expirationTime = new Date(now.getTime() + 24 * 60 * 60 * 1000); // 24 hours
+            Date expirationTime = new Date(now.getTime() + accessTokenTtlMillis);
 
             JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
-                    .subject(user.getEmail())
+                    .subject(email)
                     .issuer("webmovie")
                     .issueTime(now)
                     .expirationTime(expirationTime)
                     .jwtID(jti)
-                    .claim("scope", buildScope(user))
+                    .claim("scope", buildScope(role))
+                    .claim("userId", userId)
+                    .claim("role", role.name())
+                    .claim("ver", TOKEN_VERSION)
                     .build();
 
             SignedJWT signedJWT = new SignedJWT(jwsHeader, jwtClaimsSet);
-            JWSSigner signer = new MACSigner(SIGN.getBytes());
-            signedJWT.sign(signer);
+            signedJWT.sign(signingKeyService.signer());
 
             return signedJWT.serialize();
         } catch (JOSEException e) {
@@ -225,8 +185,8 @@ public class AuthenticationServiceImpl {
         }
     }
 
-    private String buildScope(User user) {
-        List<String> permissions = rolePermissionService.getPermissionStringsForRole(user.getRole());
+    private String buildScope(Role role) {
+        List<String> permissions = rolePermissionService.getPermissionStringsForRole(role);
         return String.join(" ", permissions);
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.quizapp.user_auth_service.service.impl;
+
+import com.quizapp.user_auth_service.service.LoginAttemptStore;
+import com.quizapp.user_auth_service.untils.SlidingWindowCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-replica counters; limits are enforced per instance
+ */
+@Service
+@ConditionalOnProperty(name = "app.login-throttle.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final SlidingWindowCounter counter;
+
+    public InMemoryLoginAttemptStore(@Value("${app.login-throttle.window:900000}") long windowMillis) {
+        this.counter = new SlidingWindowCounter(windowMillis, 64);
+    }
+
+    @Override
+    public long incrementAndGet(String key) {
+        return counter.incrementAndGet(key, System.currentTimeMillis());
+    }
+
+    @Override
+    public void reset(String key) {
+        counter.reset(key);
+    }
+
+    // Every minute
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        counter.evictIdle(System.currentTimeMillis());
+    }
+}
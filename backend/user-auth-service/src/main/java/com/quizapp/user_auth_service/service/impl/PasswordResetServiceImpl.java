@@ -12,6 +12,7 @@ import com.quizapp.user_auth_service.repository.PasswordResetTokenRepository;
 import com.quizapp.user_auth_service.repository.UserRepository;
 import com.quizapp.user_auth_service.service.PasswordResetService;
 import com.quizapp.user_auth_service.service.PasswordService;
+import com.quizapp.user_auth_service.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,6 +37,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
 	private final PasswordResetTokenRepository tokenRepository;
 	private final EmailQueueProducer emailQueueProducer;
 	private final PasswordService passwordService;
+	private final RefreshTokenService refreshTokenService;
 
 	@Value("${app.frontend.url}")
 	private String frontendUrl;
@@ -88,6 +90,8 @@ public class PasswordResetServiceImpl implements PasswordResetService {
 
 		token.setUsed(true);
 		tokenRepository.save(token);
+		// Sessions started with the old password must not outlive it
+		refreshTokenService.revokeAll(user.getId());
 
 		log.info("Password updated via reset for userId={}", user.getId());
 	}
@@ -0,0 +1,61 @@
+package com.quizapp.user_auth_service.service.impl;
+
+import com.quizapp.user_auth_service.service.LoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Counters shared by all replicas: one Redis key per fixed window, combined into a sliding estimate
+ */
+@Service
+@ConditionalOnProperty(name = "app.login-throttle.backend", havingValue = "redis")
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final String KEY_PREFIX = "login-throttle:";
+
+    // Increment the current window and read the previous one in a single round trip
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('INCR', KEYS[1]) " +
+            "if current == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end " +
+            "local previous = tonumber(redis.call('GET', KEYS[2]) or '0') " +
+            "return {current, previous}",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long windowMillis;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate,
+                                  @Value("${app.login-throttle.window:900000}") long windowMillis) {
+        this.redisTemplate = redisTemplate;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public long incrementAndGet(String key) {
+        long now = System.currentTimeMillis();
+        long windowIndex = now / windowMillis;
+        List<?> result = redisTemplate.execute(INCREMENT_SCRIPT,
+                List.of(windowKey(key, windowIndex), windowKey(key, windowIndex - 1)),
+                String.valueOf(windowMillis * 2));
+        long current = ((Number) result.get(0)).longValue();
+        long previous = ((Number) result.get(1)).longValue();
+        double elapsed = (double) (now % windowMillis) / windowMillis;
+        return (long) Math.ceil(previous * (1 - elapsed)) + current;
+    }
+
+    @Override
+    public void reset(String key) {
+        long windowIndex = System.currentTimeMillis() / windowMillis;
+        redisTemplate.delete(List.of(windowKey(key, windowIndex), windowKey(key, windowIndex - 1)));
+    }
+
+    private static String windowKey(String key, long windowIndex) {
+        return KEY_PREFIX + key + ":" + windowIndex;
+    }
+}
@@ -3,6 +3,7 @@ package com.quizapp.user_auth_service.service.impl;
 import com.quizapp.user_auth_service.dto.event.EmailEvent;
 import com.quizapp.user_auth_service.dto.request.UpdateUserRequest;
 import com.quizapp.user_auth_service.dto.request.UserRequest;
+import com.quizapp.user_auth_service.dto.response.CursorPageResponse;
 import com.quizapp.user_auth_service.dto.response.PageResponse;
 import com.quizapp.user_auth_service.dto.response.UserResponse;
 import com.quizapp.user_auth_service.exception.AppException;
@@ -11,18 +12,30 @@ import com.quizapp.user_auth_service.mapper.UserMapper;
 import com.quizapp.user_auth_service.model.User;
 import com.quizapp.user_auth_service.queue.EmailQueueProducer;
 import com.quizapp.user_auth_service.repository.UserRepository;
+import com.quizapp.user_auth_service.repository.UserSearchRepository;
 import com.quizapp.user_auth_service.service.PasswordService;
+import com.quizapp.user_auth_service.service.RefreshTokenService;
 import com.quizapp.user_auth_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -32,6 +45,11 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordService passwordService;
     private final EmailQueueProducer emailQueueProducer;
+    private final UserSearchRepository userSearchRepository;
+    private final RefreshTokenService refreshTokenService;
+
+    // Sort keys backed by an index that ends in id (pk, unique email, idx_users_full_name_id)
+    private static final Set<String> SCROLL_SORT_KEYS = Set.of("id", "email", "fullName");
     
     @Value("${app.frontend.url}")
     private String frontendUrl;
@@ -49,6 +67,30 @@ public class UserServiceImpl implements UserService {
         return converToPageResponse(users, pageable);
     }
 
+    @Override
+    public CursorPageResponse<?> searchByName(String query, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), 100);
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            return CursorPageResponse.<List<UserResponse>>builder()
+                    .size(limit)
+                    .items(List.of())
+                    .build();
+        }
+
+        // One extra row tells whether another page exists
+        List<UserSearchRepository.ScoredUser> rows = userSearchRepository.search(trimmed, decodeCursor(cursor), limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<UserSearchRepository.ScoredUser> page = hasNext ? rows.subList(0, limit) : rows;
+
+        return CursorPageResponse.<List<UserResponse>>builder()
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1)) : null)
+                .items(page.stream().map(UserSearchRepository.ScoredUser::user).toList())
+                .build();
+    }
+
     @Override
     public UserResponse save(UserRequest userRequest) {
         // Check if user already exists
@@ -101,6 +143,9 @@ public class UserServiceImpl implements UserService {
         user.setPhoneNumber(updateUserRequest.getPhoneNumber());
         user.setDateOfBirth(updateUserRequest.getDateOfBirth());
         userRepository.save(user);
+        if (updateUserRequest.getPassword() != null && !updateUserRequest.getPassword().isEmpty()) {
+            refreshTokenService.revokeAll(user.getId());
+        }
     }
 
 
@@ -112,6 +157,90 @@ public class UserServiceImpl implements UserService {
         return converToPageResponse(users, pageable);
     }
 
+    @Override
+    public CursorPageResponse<?> scrollAll(String sortBy, String cursor, int size, boolean includeTotal) {
+        if (!SCROLL_SORT_KEYS.contains(sortBy)) {
+            throw new AppException(ErrorCode.INVALID_SORT_KEY);
+        }
+        int limit = Math.min(Math.max(size, 1), 100);
+
+        // id breaks ties so the keyset is unique and no row is skipped or repeated between pages
+        Sort sort = "id".equals(sortBy) ? Sort.by("id") : Sort.by(sortBy).and(Sort.by("id"));
+        Window<User> window = userRepository.findAllBy(decodeScrollCursor(sortBy, cursor), sort, Limit.of(limit));
+
+        List<User> users = window.getContent();
+        boolean hasNext = window.hasNext() && !users.isEmpty();
+
+        return CursorPageResponse.<List<UserResponse>>builder()
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeScrollCursor(sortBy, users.get(users.size() - 1)) : null)
+                .total(includeTotal ? approximateUserCount() : null)
+                .items(userMapper.toUserResponseList(users))
+                .build();
+    }
+
+    // Planner estimate instead of COUNT(*); exact count only when no statistics are available
+    private long approximateUserCount() {
+        try {
+            Long estimate = userRepository.estimateCount();
+            if (estimate != null && estimate >= 0) {
+                return estimate;
+            }
+        } catch (DataAccessException e) {
+            log.debug("Row estimate unavailable, falling back to count: {}", e.getMessage());
+        }
+        return userRepository.count();
+    }
+
+    // Opaque cursor: sort key, last id and, unless sorting by id, the last sort value
+    private static String encodeScrollCursor(String sortBy, User last) {
+        String raw = sortBy + ":" + last.getId();
+        if (!"id".equals(sortBy)) {
+            raw += ":" + ("email".equals(sortBy) ? last.getEmail() : last.getFullName());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetScrollPosition decodeScrollCursor(String sortBy, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            if (!sortBy.equals(parts[0]) || parts.length != ("id".equals(sortBy) ? 2 : 3)) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (parts.length == 3) {
+                keys.put(sortBy, parts[2]);
+            }
+            keys.put("id", Long.parseLong(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    // Opaque cursor: exact float bits of the last distance plus the last id
+    private static String encodeCursor(UserSearchRepository.ScoredUser last) {
+        String raw = Integer.toHexString(Float.floatToIntBits(last.distance())) + ":" + last.user().getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserSearchRepository.SearchPosition decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new UserSearchRepository.SearchPosition(
+                    Float.intBitsToFloat(Integer.parseUnsignedInt(parts[0], 16)), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
     private PageResponse<?> converToPageResponse(Page<User> users, Pageable pageable) {
         List<UserResponse> userList = userMapper.toUserResponseList(users.getContent());
         return PageResponse.<List<UserResponse>>builder()
@@ -147,6 +276,9 @@ public class UserServiceImpl implements UserService {
         }
         
         user = userRepository.save(user);
+        if (updateUserRequest.getPassword() != null && !updateUserRequest.getPassword().isEmpty()) {
+            refreshTokenService.revokeAll(user.getId());
+        }
         return userMapper.toUserReponse(user);
     }
 }
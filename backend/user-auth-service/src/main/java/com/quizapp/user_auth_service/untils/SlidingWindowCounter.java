@@ -0,0 +1,95 @@
+package com.quizapp.user_auth_service.untils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Approximate sliding-window counter per key: the previous fixed window is weighted by how much of it
+ * still overlaps the sliding window. Keys are spread over lock stripes so unrelated keys do not contend.
+ */
+public class SlidingWindowCounter {
+
+    private final long windowMillis;
+    private final ReentrantLock[] locks;
+    private final Map<String, Window>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public SlidingWindowCounter(long windowMillis, int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(stripeCount, 1) * 2 - 1);
+        this.windowMillis = windowMillis;
+        this.locks = new ReentrantLock[size];
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Count one event for the key and return the weighted number of events in the sliding window, including it
+     */
+    public long incrementAndGet(String key, long nowMillis) {
+        int stripe = stripeOf(key);
+        long windowIndex = nowMillis / windowMillis;
+        locks[stripe].lock();
+        try {
+            Window window = stripes[stripe].computeIfAbsent(key, k -> new Window());
+            window.roll(windowIndex);
+            window.current++;
+            return estimate(window, nowMillis);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    public void reset(String key) {
+        int stripe = stripeOf(key);
+        locks[stripe].lock();
+        try {
+            stripes[stripe].remove(key);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    /**
+     * Drop keys with no events in the last two windows; they no longer affect any estimate
+     */
+    public void evictIdle(long nowMillis) {
+        long windowIndex = nowMillis / windowMillis;
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].lock();
+            try {
+                stripes[i].values().removeIf(window -> window.index < windowIndex - 1);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    private long estimate(Window window, long nowMillis) {
+        double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+        return (long) Math.ceil(window.previous * (1 - elapsed)) + window.current;
+    }
+
+    private int stripeOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static class Window {
+        long index;
+        long previous;
+        long current;
+
+        void roll(long windowIndex) {
+            if (windowIndex == index) {
+                return;
+            }
+            previous = windowIndex == index + 1 ? current : 0;
+            current = 0;
+            index = windowIndex;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.quizapp.user_auth_service.benchmark;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.quizapp.user_auth_service.config.CustomJwtDecoder;
+import com.quizapp.user_auth_service.service.JwtTokenVerifier;
+import com.quizapp.user_auth_service.service.TokenRevocationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of token validation in the resource server.
+ * The legacy pipeline's two invalid_tokens round trips are replaced by in-memory lookups here,
+ * so the measured difference is CPU only; the real saving also includes two DB queries per request.
+ *
+ * Run: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *        "-Dexec.args=-cp %classpath com.quizapp.user_auth_service.benchmark.TokenVerificationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    private static final String SIGN = "5020f057d0d31c44d2397a3265c89b86b95a1903160610e290786cfe36e43e7b";
+
+    private String token;
+    private Set<String> revokedJtis;
+    private NimbusJwtDecoder nimbusJwtDecoder;
+    private CustomJwtDecoder customJwtDecoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("student@example.com")
+                .issuer("webmovie")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 3_600_000))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "user:read quiz:write")
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS512).type(JOSEObjectType.JWT).build(), claims);
+        signedJWT.sign(new MACSigner(SIGN.getBytes()));
+        token = signedJWT.serialize();
+
+        revokedJtis = ConcurrentHashMap.newKeySet();
+        nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SIGN.getBytes(), "HS512"))
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        customJwtDecoder = new CustomJwtDecoder(new JwtTokenVerifier(new TokenRevocationService(null, null), null, true, SIGN));
+    }
+
+    /**
+     * Previous path: introspectToken -> verifyToken (parse, new MACVerifier, revocation lookup),
+     * a second revocation lookup, then NimbusJwtDecoder parses and verifies again
+     */
+    @Benchmark
+    public Jwt legacyPipeline() throws Exception {
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
+        if (claimsSet.getExpirationTime().before(new Date()) || !signedJWT.verify(new MACVerifier(SIGN.getBytes()))) {
+            throw new IllegalStateException("invalid token");
+        }
+        if (revokedJtis.contains(claimsSet.getJWTID()) || revokedJtis.contains(SignedJWT.parse(token).getJWTClaimsSet().getJWTID())) {
+            throw new IllegalStateException("revoked token");
+        }
+        return nimbusJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt singlePass() {
+        return customJwtDecoder.decode(token);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TokenVerificationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
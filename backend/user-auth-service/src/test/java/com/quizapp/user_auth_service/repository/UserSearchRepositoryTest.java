@@ -0,0 +1,69 @@
+package com.quizapp.user_auth_service.repository;
+
+import com.quizapp.user_auth_service.model.User;
+import com.quizapp.user_auth_service.untils.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Covers the substring fallback and its keyset paging; the trigram path needs PostgreSQL with pg_trgm
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(UserSearchRepository.class)
+class UserSearchRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchRepository userSearchRepository;
+
+    @BeforeEach
+    void setUp() {
+        userSearchRepository.init();
+        for (String name : List.of("Nguyen Van An", "Tran Thi Anh", "Le Van Binh", "Pham Anh Tuan", "Do 100% Anh")) {
+            userRepository.save(User.builder()
+                    .email(name.replaceAll("[^A-Za-z]", "").toLowerCase() + "@example.com")
+                    .passwordHash("hash")
+                    .fullName(name)
+                    .role(Role.USER)
+                    .build());
+        }
+    }
+
+    @Test
+    void testPagesCoverEveryMatchOnce() {
+        List<String> names = new ArrayList<>();
+        UserSearchRepository.SearchPosition after = null;
+        List<UserSearchRepository.ScoredUser> page;
+        do {
+            page = userSearchRepository.search("anh", after, 2);
+            page.forEach(row -> names.add(row.user().getFullName()));
+            if (!page.isEmpty()) {
+                UserSearchRepository.ScoredUser last = page.get(page.size() - 1);
+                after = new UserSearchRepository.SearchPosition(last.distance(), last.user().getId());
+            }
+        } while (page.size() == 2);
+
+        assertEquals(List.of("Tran Thi Anh", "Pham Anh Tuan", "Do 100% Anh"), names);
+    }
+
+    @Test
+    void testLikeWildcardsAreLiteral() {
+        List<UserSearchRepository.ScoredUser> rows = userSearchRepository.search("100%", null, 10);
+
+        assertEquals(1, rows.size());
+        assertEquals("Do 100% Anh", rows.get(0).user().getFullName());
+        assertTrue(userSearchRepository.search("_", null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package com.quizapp.user_auth_service.schedule;
+
+import com.quizapp.user_auth_service.repository.InvalidTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidTokenCleanupTaskTest {
+
+	@Mock
+	private InvalidTokenRepository invalidTokenRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private InvalidTokenCleanupTask cleanupTask;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(cleanupTask, "purgeChunkSize", 100);
+		ReflectionTestUtils.setField(cleanupTask, "partitionDaysAhead", 1);
+		when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+	}
+
+	@Test
+	void testPurgeRunsWhenPartitionMaintenanceFails() {
+		when(jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class)).thenReturn(LocalDate.of(2026, 3, 10));
+		doThrow(new RuntimeException("lock timeout")).when(jdbcTemplate).execute(anyString());
+		when(invalidTokenRepository.deleteExpiredChunk(any(Date.class), anyInt())).thenReturn(0);
+
+		cleanupTask.cleanExpiredTokens();
+
+		verify(invalidTokenRepository).deleteExpiredChunk(any(Date.class), eq(100));
+	}
+
+	@Test
+	void testPartitionBoundsUseDatabaseDate() {
+		when(jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class)).thenReturn(LocalDate.of(2026, 3, 10));
+		when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+				.thenReturn(List.of("invalid_tokens_p20260309", "invalid_tokens_p20260310"));
+
+		cleanupTask.cleanExpiredTokens();
+
+		verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS invalid_tokens_p20260310 PARTITION OF invalid_tokens " +
+				"FOR VALUES FROM ('2026-03-10') TO ('2026-03-11')");
+		verify(jdbcTemplate).execute("DROP TABLE IF EXISTS invalid_tokens_p20260309");
+		verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS invalid_tokens_p20260310");
+	}
+
+	@Test
+	void testFailedCreateDoesNotSkipOtherDaysOrDrops() {
+		when(jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class)).thenReturn(LocalDate.of(2026, 3, 10));
+		doThrow(new RuntimeException("lock timeout")).when(jdbcTemplate).execute(contains("invalid_tokens_p20260310 PARTITION OF"));
+		when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+				.thenReturn(List.of("invalid_tokens_p20260309"));
+
+		cleanupTask.cleanExpiredTokens();
+
+		verify(jdbcTemplate).execute(contains("invalid_tokens_p20260311 PARTITION OF"));
+		verify(jdbcTemplate).execute("DROP TABLE IF EXISTS invalid_tokens_p20260309");
+	}
+
+	@Test
+	void testRowsInDefaultPartitionAreMovedBeforeAttach() {
+		LocalDate day = LocalDate.of(2026, 3, 10);
+		when(jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class)).thenReturn(day);
+		when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), eq("invalid_tokens_p20260310"), any(), any()))
+				.thenReturn(true);
+
+		cleanupTask.cleanExpiredTokens();
+
+		InOrder inOrder = inOrder(jdbcTemplate, transactionManager);
+		inOrder.verify(transactionManager).getTransaction(any());
+		inOrder.verify(jdbcTemplate).execute("CREATE TABLE invalid_tokens_p20260310 (LIKE invalid_tokens INCLUDING DEFAULTS)");
+		inOrder.verify(jdbcTemplate).update(contains("DELETE FROM invalid_tokens_default"), eq(day), eq(day.plusDays(1)));
+		inOrder.verify(jdbcTemplate).execute("ALTER TABLE invalid_tokens ATTACH PARTITION invalid_tokens_p20260310 " +
+				"FOR VALUES FROM ('2026-03-10') TO ('2026-03-11')");
+		inOrder.verify(transactionManager).commit(any());
+		verify(jdbcTemplate, never()).execute(contains("invalid_tokens_p20260310 PARTITION OF"));
+		verify(jdbcTemplate).execute(contains("invalid_tokens_p20260311 PARTITION OF"));
+	}
+}
@@ -0,0 +1,58 @@
+package com.quizapp.user_auth_service.service;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "legacy-secret-for-tests-only-0123456789-legacy-secret-for-tests-only";
+
+    @Test
+    void testLegacyHs512RejectedByDefault() throws Exception {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(new TokenRevocationService(null, null), null, false, SECRET);
+
+        AppException e = assertThrows(AppException.class, () -> verifier.verify(hs512Token(SECRET)));
+
+        assertEquals(ErrorCode.INVALID_SIGNATURE, e.getErrorCode());
+    }
+
+    @Test
+    void testLegacyHs512VerifiedWithConfiguredSecret() throws Exception {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(new TokenRevocationService(null, null), null, true, SECRET);
+
+        assertNotNull(verifier.verify(hs512Token(SECRET)));
+        assertThrows(AppException.class, () -> verifier.verify(hs512Token(SECRET.replace('l', 'x'))));
+    }
+
+    @Test
+    void testLegacyHs512RequiresSecret() {
+        assertThrows(IllegalStateException.class,
+                () -> new JwtTokenVerifier(new TokenRevocationService(null, null), null, true, ""));
+    }
+
+    private String hs512Token(String secret) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("student@example.com")
+                .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("ver", 2)
+                .claim("userId", 1L)
+                .claim("role", "ADMIN")
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS512).type(JOSEObjectType.JWT).build(), claims);
+        signedJWT.sign(new MACSigner(secret.getBytes()));
+        return signedJWT.serialize();
+    }
+}
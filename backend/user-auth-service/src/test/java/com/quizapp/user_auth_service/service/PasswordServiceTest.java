@@ -0,0 +1,77 @@
+package com.quizapp.user_auth_service.service;
+
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordServiceTest {
+
+    private ThreadPoolExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testHashAndVerify() {
+        PasswordService passwordService = new PasswordService(executor, meterRegistry, 5000);
+
+        String hash = passwordService.hashPassword("secret123");
+
+        assertTrue(passwordService.verifyPassword("secret123", hash));
+        assertFalse(passwordService.verifyPassword("wrong", hash));
+    }
+
+    @Test
+    void testFullQueueIsRejected() {
+        PasswordService passwordService = new PasswordService(executor, meterRegistry, 5000);
+        occupyWorker();
+        executor.submit(() -> {});
+
+        assertTooManyRequests(() -> passwordService.hashPassword("secret123"));
+        assertEquals(1.0, meterRegistry.counter("password.hashing.rejected").count());
+    }
+
+    @Test
+    void testTimedOutTaskIsWithdrawnFromQueue() {
+        PasswordService passwordService = new PasswordService(executor, meterRegistry, 50);
+        occupyWorker();
+
+        assertTooManyRequests(() -> passwordService.hashPassword("secret123"));
+        // The abandoned hash no longer holds queue capacity and will not run
+        assertEquals(0, executor.getQueue().size());
+    }
+
+    private void occupyWorker() {
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+    }
+
+    private static void assertTooManyRequests(Runnable call) {
+        AppException e = assertThrows(AppException.class, call::run);
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, e.getErrorCode());
+    }
+}
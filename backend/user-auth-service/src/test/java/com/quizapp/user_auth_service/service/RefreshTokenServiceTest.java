@@ -0,0 +1,136 @@
+package com.quizapp.user_auth_service.service;
+
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the rotation scripts against a real redis-server
+ */
+class RefreshTokenServiceTest {
+
+    private static final long TTL = 60_000;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @Test
+    void testRotateReturnsUserAndChainsReplacements() {
+        RefreshTokenService service = new RefreshTokenService(redisTemplate, TTL, 0);
+        String token = service.issue(42L);
+
+        RefreshTokenService.Rotation first = service.rotate(token);
+        RefreshTokenService.Rotation second = service.rotate(first.refreshToken());
+
+        assertEquals(42L, first.userId());
+        assertEquals(42L, second.userId());
+        assertNotEquals(token, first.refreshToken());
+        assertTrue(first.refreshToken().startsWith(token.substring(0, token.indexOf('.') + 1)));
+    }
+
+    @Test
+    void testReuseAfterGraceRevokesFamily() {
+        RefreshTokenService service = new RefreshTokenService(redisTemplate, TTL, 0);
+        String token = service.issue(42L);
+        RefreshTokenService.Rotation rotation = service.rotate(token);
+
+        assertInvalid(() -> service.rotate(token));
+        // The family is gone, so the legitimate replacement stops working too
+        assertInvalid(() -> service.rotate(rotation.refreshToken()));
+    }
+
+    @Test
+    void testReuseWithinGraceIssuesAnotherReplacement() {
+        RefreshTokenService service = new RefreshTokenService(redisTemplate, TTL, 60_000);
+        String token = service.issue(42L);
+
+        // Two tabs refreshing with the same token
+        RefreshTokenService.Rotation first = service.rotate(token);
+        RefreshTokenService.Rotation second = service.rotate(token);
+
+        assertNotEquals(first.refreshToken(), second.refreshToken());
+        assertEquals(42L, service.rotate(first.refreshToken()).userId());
+        assertEquals(42L, service.rotate(second.refreshToken()).userId());
+    }
+
+    @Test
+    void testRevokeAllRevokesOnlyThatUsersFamilies() {
+        RefreshTokenService service = new RefreshTokenService(redisTemplate, TTL, 0);
+        String laptop = service.issue(42L);
+        String phone = service.rotate(service.issue(42L)).refreshToken();
+        String otherUser = service.issue(7L);
+
+        service.revokeAll(42L);
+
+        assertInvalid(() -> service.rotate(laptop));
+        assertInvalid(() -> service.rotate(phone));
+        assertEquals(7L, service.rotate(otherUser).userId());
+    }
+
+    @Test
+    void testRotationExtendsUserIndex() {
+        RefreshTokenService service = new RefreshTokenService(redisTemplate, TTL, 0);
+        String token = service.issue(42L);
+        redisTemplate.expire("refresh-user:42", Duration.ofSeconds(1));
+
+        service.rotate(token);
+
+        assertTrue(redisTemplate.getExpire("refresh-user:42", TimeUnit.SECONDS) > 1);
+    }
+
+    @Test
+    void testUnknownOrMalformedTokenIsRejected() {
+        RefreshTokenService service = new RefreshTokenService(redisTemplate, TTL, 0);
+        String token = service.issue(42L);
+
+        assertInvalid(() -> service.rotate(token + "x"));
+        assertInvalid(() -> service.rotate("not-a-token"));
+        service.revoke(token);
+        assertInvalid(() -> service.rotate(token));
+    }
+
+    private static void assertInvalid(Runnable call) {
+        AppException e = assertThrows(AppException.class, call::run);
+        assertEquals(ErrorCode.INVALID_REFRESH_TOKEN, e.getErrorCode());
+    }
+}
@@ -0,0 +1,147 @@
+package com.quizapp.user_auth_service.service;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.quizapp.user_auth_service.model.SigningKey;
+import com.quizapp.user_auth_service.repository.SigningKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replicas are separate service instances sharing one database
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SigningKeyServiceTest {
+
+    private static final long ROTATION = 7L * 24 * 60 * 60 * 1000;
+    private static final long LIFETIME = 24L * 60 * 60 * 1000;
+    private static final String KEK = "q3mJ1l0mY2F4cN3sZ0pD5vW8xT6bR9eH2kL7aQ4uI1o=";
+
+    @Autowired
+    private SigningKeyRepository signingKeyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        signingKeyRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentReplicasRotateOnce() throws Exception {
+        replica(0).init();
+        ageKeys(ROTATION + LIFETIME / 2);
+
+        int replicas = 4;
+        List<SigningKeyService> services = new ArrayList<>();
+        for (int i = 0; i < replicas; i++) {
+            services.add(replica(0));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(replicas);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (SigningKeyService service : services) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    service.refresh();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, signingKeyRepository.count());
+        services.forEach(SigningKeyService::refresh);
+        Set<String> activeKids = services.stream().map(SigningKeyService::activeKid).collect(Collectors.toSet());
+        assertEquals(1, activeKids.size());
+    }
+
+    @Test
+    void testUnknownKidReloadsKeys() {
+        SigningKeyService rotating = replica(0);
+        SigningKeyService other = replica(0);
+        rotating.init();
+        other.init();
+        ageKeys(ROTATION + 1000);
+        rotating.refresh();
+
+        assertTrue(other.verifier(rotating.activeKid()).isPresent());
+        assertEquals(rotating.activeKid(), other.activeKid());
+    }
+
+    @Test
+    void testUnknownKidReloadIsRateLimited() {
+        SigningKeyService rotating = replica(0);
+        SigningKeyService other = replica(60_000);
+        rotating.init();
+        other.init();
+        ageKeys(ROTATION + 1000);
+        rotating.refresh();
+
+        assertTrue(other.verifier(rotating.activeKid()).isEmpty());
+        assertTrue(other.verifier("unknown").isEmpty());
+    }
+
+    @Test
+    void testPrivateKeysAreEncrypted() {
+        SigningKeyService service = replica(0);
+        service.init();
+
+        SigningKey stored = signingKeyRepository.findAll().get(0);
+        assertTrue(stored.getJwk().startsWith("enc:v1:"));
+        assertFalse(stored.getJwk().contains("\"d\""));
+        assertTrue(service.verifier(stored.getKid()).isPresent());
+
+        SigningKeyService wrongKek = new SigningKeyService(signingKeyRepository, ROTATION, LIFETIME, 0,
+                "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=");
+        assertThrows(IllegalStateException.class, wrongKek::refresh);
+    }
+
+    @Test
+    void testPlaintextKeysStillLoad() throws Exception {
+        RSAKey legacy = new RSAKeyGenerator(2048).keyID("legacy").algorithm(JWSAlgorithm.RS256).generate();
+        signingKeyRepository.save(SigningKey.builder().kid("legacy").jwk(legacy.toJSONString()).build());
+
+        SigningKeyService service = replica(0);
+        service.init();
+
+        assertEquals("legacy", service.activeKid());
+        assertTrue(service.verifier("legacy").isPresent());
+    }
+
+    private SigningKeyService replica(long unknownKidReloadInterval) {
+        return new SigningKeyService(signingKeyRepository, ROTATION, LIFETIME, unknownKidReloadInterval, KEK);
+    }
+
+    private void ageKeys(long millis) {
+        jdbcTemplate.update("UPDATE signing_keys SET created_at = ?", LocalDateTime.now().minusNanos(millis * 1_000_000));
+    }
+}
@@ -0,0 +1,109 @@
+package com.quizapp.user_auth_service.service;
+
+import com.quizapp.user_auth_service.dto.response.CursorPageResponse;
+import com.quizapp.user_auth_service.dto.response.UserResponse;
+import com.quizapp.user_auth_service.exception.AppException;
+import com.quizapp.user_auth_service.exception.ErrorCode;
+import com.quizapp.user_auth_service.mapper.UserMapperImpl;
+import com.quizapp.user_auth_service.model.User;
+import com.quizapp.user_auth_service.queue.EmailQueueProducer;
+import com.quizapp.user_auth_service.repository.UserRepository;
+import com.quizapp.user_auth_service.repository.UserSearchRepository;
+import com.quizapp.user_auth_service.service.impl.UserServiceImpl;
+import com.quizapp.user_auth_service.untils.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Keyset scrolling of /users/all against H2; the planner estimate is unavailable there, so totals are exact
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class UserServiceImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserServiceImpl userService;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, new UserMapperImpl(), mock(PasswordService.class),
+                mock(EmailQueueProducer.class), mock(UserSearchRepository.class), mock(RefreshTokenService.class));
+        // Three users share a full name, so the id tie-breaker decides where pages split
+        for (String name : List.of("Nguyen Van An", "Tran Thi Binh", "Le Van Cuong", "Nguyen Van An", "Pham Thi Dung", "Nguyen Van An")) {
+            users.add(userRepository.save(User.builder()
+                    .email("user" + users.size() + "@example.com")
+                    .passwordHash("hash")
+                    .fullName(name)
+                    .role(Role.USER)
+                    .build()));
+        }
+    }
+
+    @Test
+    void testCursorRoundTripVisitsEveryUserOnce() {
+        CursorPageResponse<?> first = userService.scrollAll("id", null, 4, true);
+
+        assertTrue(first.isHasNext());
+        assertEquals(6L, first.getTotal());
+
+        CursorPageResponse<?> second = userService.scrollAll("id", first.getNextCursor(), 4, false);
+
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+        assertNull(second.getTotal());
+        List<Long> ids = new ArrayList<>(ids(first));
+        ids.addAll(ids(second));
+        assertEquals(users.stream().map(User::getId).toList(), ids);
+    }
+
+    @Test
+    void testCursorForAnotherSortKeyIsRejected() {
+        String emailCursor = userService.scrollAll("email", null, 2, false).getNextCursor();
+
+        assertInvalidCursor(() -> userService.scrollAll("fullName", emailCursor, 2, false));
+        assertInvalidCursor(() -> userService.scrollAll("id", emailCursor, 2, false));
+        assertInvalidCursor(() -> userService.scrollAll("email", "not-a-cursor", 2, false));
+        AppException e = assertThrows(AppException.class, () -> userService.scrollAll("passwordHash", null, 2, false));
+        assertEquals(ErrorCode.INVALID_SORT_KEY, e.getErrorCode());
+    }
+
+    @Test
+    void testFullNameTiesContinueAcrossPages() {
+        List<Long> scrolled = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<?> page = userService.scrollAll("fullName", cursor, 2, false);
+            scrolled.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = users.stream()
+                .sorted(Comparator.comparing(User::getFullName).thenComparing(User::getId))
+                .map(User::getId)
+                .toList();
+        assertEquals(expected, scrolled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(CursorPageResponse<?> page) {
+        return ((List<UserResponse>) page.getItems()).stream().map(UserResponse::getId).toList();
+    }
+
+    private static void assertInvalidCursor(Runnable call) {
+        AppException e = assertThrows(AppException.class, call::run);
+        assertEquals(ErrorCode.INVALID_CURSOR, e.getErrorCode());
+    }
+}
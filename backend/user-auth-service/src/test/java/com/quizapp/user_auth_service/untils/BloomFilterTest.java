@@ -0,0 +1,40 @@
+package com.quizapp.user_auth_service.untils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        String[] jtis = new String[10_000];
+        for (int i = 0; i < jtis.length; i++) {
+            jtis[i] = UUID.randomUUID().toString();
+            filter.put(jtis[i]);
+        }
+
+        for (String jti : jtis) {
+            assertTrue(filter.mightContain(jti));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,44 @@
+package com.quizapp.user_auth_service.untils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 1000;
+
+    @Test
+    void testCountsWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+
+        assertEquals(1, counter.incrementAndGet("a", 100));
+        assertEquals(2, counter.incrementAndGet("a", 200));
+        assertEquals(1, counter.incrementAndGet("b", 300));
+    }
+
+    @Test
+    void testPreviousWindowDecaysWithElapsedTime() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        for (int i = 0; i < 10; i++) {
+            counter.incrementAndGet("a", 500);
+        }
+
+        // A quarter into the next window, three quarters of the previous one still count
+        assertEquals(9, counter.incrementAndGet("a", 1250));
+        // Two windows later nothing is left
+        assertEquals(1, counter.incrementAndGet("a", 3100));
+    }
+
+    @Test
+    void testResetAndEvictIdle() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        counter.incrementAndGet("a", 100);
+        counter.incrementAndGet("a", 200);
+        counter.reset("a");
+        assertEquals(1, counter.incrementAndGet("a", 300));
+
+        counter.evictIdle(5000);
+        assertEquals(1, counter.incrementAndGet("a", 5100));
+    }
+}
@@ -3,6 +3,7 @@ import { authService } from "@/services/auth.service";
 import { AuthRequest, AuthResponse, RegisterRequest } from "@/types/auth";
 import Cookies from "js-cookie";
 import { getUserInfoFromToken, UserInfo } from "@/lib/jwt";
+import { clearTokens, getRefreshToken, saveTokens, scheduleTokenRefresh } from "@/lib/tokenRefresh";
 
 export const useAuth = () => {
     const [isLoading, setIsLoading] = useState(false);
@@ -16,6 +17,7 @@ export const useAuth = () => {
             const userInfo = getUserInfoFromToken(token);
             console.log('🔄 useEffect - User Info:', userInfo); // Debug log
             setUser(userInfo);
+            scheduleTokenRefresh();
         }
     }, []);
 
@@ -25,10 +27,8 @@ export const useAuth = () => {
         try {
             const response = await authService.login(data);
             if (response.data?.token) {
-                // Lưu token vào Cookie để Middleware có thể đọc được
-                Cookies.set("accessToken", response.data.token, { expires: 1 }); // Hết hạn sau 1 ngày
-                // Vẫn lưu localStorage nếu cần dùng ở client components khác
-                localStorage.setItem("accessToken", response.data.token);
+                // Lưu token vào Cookie (cho Middleware) và localStorage, hẹn giờ làm mới bằng refresh token
+                saveTokens(response.data);
 
                 // Parse user info từ token
                 const userInfo = getUserInfoFromToken(response.data.token);
@@ -64,15 +64,14 @@ export const useAuth = () => {
             const token = Cookies.get("accessToken") || localStorage.getItem("accessToken");
             if (token) {
                 // Call API logout để invalidate token ở server
-                await authService.logout(token);
+                await authService.logout(token, getRefreshToken());
             }
         } catch (err: any) {
             console.error("Logout API error:", err);
             // Vẫn tiếp tục logout ở client dù API fail
         } finally {
             // Xóa token ở client
-            Cookies.remove("accessToken");
-            localStorage.removeItem("accessToken");
+            clearTokens();
             setUser(null);
             setIsLoading(false);
             window.location.href = "/";
@@ -0,0 +1,130 @@
+import Cookies from "js-cookie";
+import { authService } from "@/services/auth.service";
+import { AuthResponse } from "@/types/auth";
+import { decodeJWT } from "@/lib/jwt";
+
+// Làm mới access token trước khi hết hạn 60 giây
+const REFRESH_BEFORE_EXPIRY_MS = 60_000;
+// Khóa dùng chung giữa các tab: chỉ một tab được đổi refresh token tại một thời điểm
+const REFRESH_LOCK_NAME = "auth-token-refresh";
+
+let refreshTimer: ReturnType<typeof setTimeout> | null = null;
+let listeningToOtherTabs = false;
+
+function storeTokens(auth: AuthResponse) {
+    Cookies.set("accessToken", auth.token, { expires: 1 });
+    localStorage.setItem("accessToken", auth.token);
+    if (auth.refreshToken) {
+        localStorage.setItem("refreshToken", auth.refreshToken);
+    }
+}
+
+/**
+ * Lưu access token (Cookie + localStorage) và refresh token, sau đó hẹn giờ làm mới
+ */
+export function saveTokens(auth: AuthResponse) {
+    storeTokens(auth);
+    scheduleTokenRefresh();
+}
+
+export function getRefreshToken(): string | null {
+    return typeof window !== "undefined" ? localStorage.getItem("refreshToken") : null;
+}
+
+function cancelTokenRefresh() {
+    if (refreshTimer) {
+        clearTimeout(refreshTimer);
+        refreshTimer = null;
+    }
+}
+
+export function clearTokens() {
+    cancelTokenRefresh();
+    Cookies.remove("accessToken");
+    localStorage.removeItem("accessToken");
+    localStorage.removeItem("refreshToken");
+}
+
+function msUntilRefresh(accessToken: string): number {
+    const payload = decodeJWT(accessToken);
+    return payload ? payload.exp * 1000 - Date.now() - REFRESH_BEFORE_EXPIRY_MS : 0;
+}
+
+/**
+ * Chạy fn trong khi giữ khóa chung của các tab (Web Locks API); trình duyệt không hỗ trợ thì chạy trực tiếp
+ */
+function withRefreshLock(fn: () => Promise<void>): Promise<void> {
+    if (typeof navigator !== "undefined" && navigator.locks) {
+        return navigator.locks.request(REFRESH_LOCK_NAME, fn);
+    }
+    return fn();
+}
+
+/**
+ * Đổi refresh token lấy token mới. Mỗi refresh token chỉ dùng được một lần, nên các tab lần lượt giữ khóa
+ * và luôn đọc lại token từ localStorage: tab đến sau dùng kết quả của tab trước thay vì gửi token đã bị đổi
+ */
+async function refreshTokens() {
+    await withRefreshLock(async () => {
+        const current = localStorage.getItem("accessToken");
+        if (current && msUntilRefresh(current) > 0) {
+            // Tab khác vừa làm mới xong
+            Cookies.set("accessToken", current, { expires: 1 });
+            return;
+        }
+
+        const refreshToken = getRefreshToken();
+        if (!refreshToken) {
+            throw new Error("Missing refresh token");
+        }
+        const response = await authService.refresh(refreshToken);
+        storeTokens(response.data);
+    });
+}
+
+/**
+ * Khi tab khác lưu token mới thì hẹn lại giờ theo token đó; khi tab khác đăng xuất thì hủy hẹn giờ
+ */
+function listenToOtherTabs() {
+    if (listeningToOtherTabs) {
+        return;
+    }
+    listeningToOtherTabs = true;
+    window.addEventListener("storage", (event) => {
+        if (event.key !== null && event.key !== "accessToken") {
+            return;
+        }
+        if (event.newValue) {
+            scheduleTokenRefresh();
+        } else {
+            cancelTokenRefresh();
+        }
+    });
+}
+
+/**
+ * Access token chỉ sống vài phút: dùng refresh token để lấy token mới ngay trước khi hết hạn
+ */
+export function scheduleTokenRefresh() {
+    if (typeof window === "undefined") {
+        return;
+    }
+    listenToOtherTabs();
+    cancelTokenRefresh();
+
+    const accessToken = localStorage.getItem("accessToken") || Cookies.get("accessToken");
+    if (!accessToken || !getRefreshToken()) {
+        return;
+    }
+
+    refreshTimer = setTimeout(async () => {
+        try {
+            await refreshTokens();
+            scheduleTokenRefresh();
+        } catch (err) {
+            console.error("Token refresh failed:", err);
+            clearTokens();
+            window.location.href = "/auth/login";
+        }
+    }, Math.max(msUntilRefresh(accessToken), 0));
+}
@@ -87,13 +87,31 @@ export const authService = {
         return result;
     },
 
-    async logout(token: string): Promise<ApiResponse<any>> {
+    async refresh(refreshToken: string): Promise<ApiResponse<AuthResponse>> {
+        const response = await fetch(`${AUTH_API_URL}/refresh`, {
+            method: "POST",
+            headers: {
+                "Content-Type": "application/json",
+            },
+            body: JSON.stringify({ token: refreshToken }),
+        });
+
+        const result = await response.json();
+
+        if (!response.ok || !result.data?.token) {
+            throw new Error(result.message || "Làm mới phiên đăng nhập thất bại");
+        }
+
+        return result;
+    },
+
+    async logout(token: string, refreshToken?: string | null): Promise<ApiResponse<any>> {
         const response = await fetch(`${AUTH_API_URL}/logout`, {
             method: "POST",
             headers: {
                 "Content-Type": "application/json",
             },
-            body: JSON.stringify({ token }),
+            body: JSON.stringify({ token, refreshToken }),
         });
 
         const result = await response.json();
@@ -3,6 +3,7 @@ import { authService } from '@/services/auth.service'
 import { AuthRequest, RegisterRequest } from '@/types/auth'
 import Cookies from 'js-cookie'
 import { getUserInfoFromToken, UserInfo } from '@/lib/jwt'
+import { clearTokens, getRefreshToken, saveTokens, scheduleTokenRefresh } from '@/lib/tokenRefresh'
 
 interface AuthState {
     user: UserInfo | null
@@ -28,6 +29,7 @@ export const useAuthStore = create<AuthState>((set, get) => ({
             const userInfo = getUserInfoFromToken(token)
             console.log('🔄 Initialize User:', userInfo)
             set({ user: userInfo })
+            scheduleTokenRefresh()
         }
     },
 
@@ -36,8 +38,7 @@ export const useAuthStore = create<AuthState>((set, get) => ({
         try {
             const response = await authService.login(data)
             if (response.data?.token) {
-                Cookies.set('accessToken', response.data.token, { expires: 1 })
-                localStorage.setItem('accessToken', response.data.token)
+                saveTokens(response.data)
 
                 const userInfo = getUserInfoFromToken(response.data.token)
                 console.log('🔐 Login - User Info:', userInfo)
@@ -88,14 +89,13 @@ export const useAuthStore = create<AuthState>((set, get) => ({
         try {
             const token = Cookies.get('accessToken') || localStorage.getItem('accessToken')
             if (token) {
-                await authService.logout(token)
+                await authService.logout(token, getRefreshToken())
             }
         } catch (err: any) {
             console.error('Logout API error:', err)
         } finally {
             // Xóa token - KHÔNG xóa completedQuizzes để giữ lại dữ liệu khi đăng nhập lại
-            Cookies.remove('accessToken')
-            localStorage.removeItem('accessToken')
+            clearTokens()
             
             // Chỉ xóa completedQuizzes key cũ (backward compatibility) nếu có
             // KHÔNG xóa completedQuizzes theo email vì cần giữ lại cho lần đăng nhập sau
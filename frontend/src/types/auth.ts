@@ -6,6 +6,8 @@ export interface AuthRequest {
 export interface AuthResponse {
     authenticated: boolean;
     token: string;
+    refreshToken?: string;
+    expiresIn?: number; // giây
 }
 
 export interface ApiResponse<T> {